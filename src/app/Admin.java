@@ -1,16 +1,26 @@
 package app;
 
 import app.audio.Collections.Album;
+import app.audio.Collections.AudioCollection;
 import app.audio.Collections.Playlist;
 import app.audio.Collections.Podcast;
+import app.audio.Files.AudioFile;
 import app.audio.Files.Episode;
 import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+import app.player.BookmarkStore;
 import app.player.PlayerSource;
+import app.searchBar.LibraryIndex;
+import app.searchBar.PrefixIndex;
+import app.searchBar.SearchBar;
+import app.searchBar.SearchCache;
 import app.user.User;
 import app.user.Artist;
 import app.user.Host;
 import app.user.UserEntry;
 import app.utils.Enums;
+import app.utils.Leaderboard;
+import app.utils.ReverseIndex;
 import checker.CheckerConstants;
 import fileio.input.UserInput;
 import fileio.input.SongInput;
@@ -20,27 +30,136 @@ import fileio.input.CommandInput;
 import fileio.input.MerchInput;
 import fileio.input.EventInput;
 import fileio.input.AnnouncementInput;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * The type Admin.
  */
 @Getter@Setter
 public final class Admin {
-    private static Admin admin = null;
-    private List<User> users = new ArrayList<>();
-    private List<Artist> artists = new ArrayList<>();
-    private List<Host> hosts = new ArrayList<>();
-    private List<Song> songs = new ArrayList<>();
-    private List<Podcast> podcasts = new ArrayList<>();
-    private List<Album> albums = new ArrayList<>();
+    // every thread has its own world, so separate test files can run in parallel
+    private static final ThreadLocal<Admin> INSTANCE = ThreadLocal.withInitial(Admin::new);
+    // the lists are only changed by the methods of the class, the getters return read-only
+    // views of them, which follow the changes without being copied
+    @Getter(AccessLevel.NONE)
+    private final List<User> users = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Artist> artists = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Host> hosts = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Song> songs = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Podcast> podcasts = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<Album> albums = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final List<User> usersView = Collections.unmodifiableList(users);
+    @Getter(AccessLevel.NONE)
+    private final List<Artist> artistsView = Collections.unmodifiableList(artists);
+    @Getter(AccessLevel.NONE)
+    private final List<Host> hostsView = Collections.unmodifiableList(hosts);
+    @Getter(AccessLevel.NONE)
+    private final List<Song> songsView = Collections.unmodifiableList(songs);
+    @Getter(AccessLevel.NONE)
+    private final List<Podcast> podcastsView = Collections.unmodifiableList(podcasts);
+    @Getter(AccessLevel.NONE)
+    private final List<Album> albumsView = Collections.unmodifiableList(albums);
+    // every user, artist and host indexed by username; the lists above keep the output order
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Map<String, UserEntry> accounts = new HashMap<>();
+    // the order in which the accounts were registered, used to break ties between playlists
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Map<String, Integer> registrationOrder = new HashMap<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private int registrations = 0;
+    // the album each song added by an artist belongs to, for propagating likes to the charts
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Map<Song, Album> songAlbums = new HashMap<>();
+    // charts kept sorted as likes and followers change, with the same tie-breaking as
+    // sorting the lists would give
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Leaderboard<Song> songChart = new Leaderboard<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Leaderboard<Album> albumChart =
+            new Leaderboard<>(Comparator.comparing(Album::getName));
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Leaderboard<Artist> artistChart = new Leaderboard<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Leaderboard<Playlist> playlistChart = newPlaylistChart();
+    // the playlists of all the users, ordered by their owner's position in the list of users
+    // and then by creation, kept up to date as playlists are created and users deleted
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private final List<Playlist> playlists = new ArrayList<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private final List<Playlist> playlistsView = Collections.unmodifiableList(playlists);
+    // postings of the songs by album, tags, genre, artist and release year, used by searches;
+    // the lyrics are indexed too when the globalwaves.lyricsIndex system property is true
+    @Setter(AccessLevel.NONE)
+    private LibraryIndex libraryIndex =
+            new LibraryIndex(Boolean.getBoolean(LYRICS_INDEX_PROPERTY));
+    // name indexes for the searches, listing the matches in the same order as the lists
+    @Setter(AccessLevel.NONE)
+    private PrefixIndex<Podcast> podcastNames = new PrefixIndex<>(Podcast::getName);
+    @Setter(AccessLevel.NONE)
+    private PrefixIndex<Album> albumNames = new PrefixIndex<>(Album::getName);
+    @Setter(AccessLevel.NONE)
+    private PrefixIndex<Playlist> playlistNames = new PrefixIndex<>(Playlist::getName,
+            Comparator.comparing((Playlist playlist) ->
+                    registrationOrder.get(playlist.getOwner())));
+    @Setter(AccessLevel.NONE)
+    private PrefixIndex<Artist> artistNames = new PrefixIndex<>(Artist::getUsername);
+    @Setter(AccessLevel.NONE)
+    private PrefixIndex<Host> hostNames = new PrefixIndex<>(Host::getUsername);
+    // the results of the last searches, valid while the version of the songs, albums and
+    // podcasts, or of the playlists, is the one they were found in
+    @Setter(AccessLevel.NONE)
+    private SearchCache searchCache = new SearchCache();
+    @Setter(AccessLevel.NONE)
+    private long libraryVersion = 0;
+    @Setter(AccessLevel.NONE)
+    private long playlistVersion = 0;
+    // reverse references, so deleting an account only visits what refers to it: the users
+    // that loaded a song or collection and may still be on it, the users whose search bar
+    // found an artist's or host's page, the playlists a song was ever added to, the users
+    // that liked a song and the followers of a playlist
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private ReverseIndex<LibraryEntry, User> listeners = new ReverseIndex<>();
+    // the users whose player has more time left than its track lasts, which are simulated at
+    // every timestamp, because catching them up at once may leave them somewhere else
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Set<User> steppedUsers = new HashSet<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private ReverseIndex<String, String> pageViewers = new ReverseIndex<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private ReverseIndex<Song, Playlist> songPlaylists = new ReverseIndex<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private ReverseIndex<Song, User> songLikers = new ReverseIndex<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private ReverseIndex<Playlist, User> playlistFollowers = new ReverseIndex<>();
+    // the liked content, artist and host pages as last printed, by the user, artist or host
+    // they show, dropped when something they show changes
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private Map<UserEntry, String> renderedPages = new HashMap<>();
+    // where the podcast bookmarks of the users are kept between runs, if anywhere
+    @Getter(AccessLevel.NONE)
+    private BookmarkStore bookmarkStore;
     private int timestamp = 0;
     private static final int LIMIT = 5;
+    private static final String LYRICS_INDEX_PROPERTY = "globalwaves.lyricsIndex";
 
     private Admin() {
     }
@@ -51,10 +170,7 @@ public final class Admin {
      * @return the instance
      */
     public static Admin getInstance() {
-        if (admin == null) {
-            admin = new Admin();
-        }
-        return admin;
+        return INSTANCE.get();
     }
 
     /**
@@ -63,23 +179,102 @@ public final class Admin {
      * @param userInputList The user input list
      */
     public void setUsers(final List<UserInput> userInputList) {
-        users = new ArrayList<>();
+        for (User user : users) {
+            for (Playlist playlist : user.getPlaylists()) {
+                playlistChart.remove(playlist);
+                playlistNames.remove(playlist);
+            }
+            unregisterAccount(user);
+            user.getPlayer().stop();
+        }
+        playlists.clear();
+        playlistsChanged();
+        renderedPages.clear();
+        clearUserReferences();
+
+        users.clear();
         for (UserInput userInput : userInputList) {
-            users.add(new User(userInput.getUsername(), userInput.getAge(), userInput.getCity()));
+            User user = new User(userInput.getUsername(), userInput.getAge(), userInput.getCity());
+            user.setLastUpdate(timestamp);
+            restoreBookmarks(user);
+            users.add(user);
+            registerAccount(user);
+        }
+    }
+
+    /**
+     * Gives a new user's player the bookmarks kept for the username, if bookmarks are kept.
+     */
+    private void restoreBookmarks(final User user) {
+        if (bookmarkStore != null) {
+            user.getPlayer().useBookmarkStore(bookmarkStore, user.getUsername());
+        }
+    }
+
+    /**
+     * Forgets the references held by the users, their players, search bars and playlists.
+     */
+    private void clearUserReferences() {
+        listeners.clear();
+        steppedUsers.clear();
+        pageViewers.clear();
+        songPlaylists.clear();
+        songLikers.clear();
+        playlistFollowers.clear();
+    }
+
+    /**
+     * Adds an entry to the username index. The first account registered under a username
+     * wins, mirroring the order in which the lists used to be scanned.
+     *
+     * @param entry The user, artist or host to be indexed
+     */
+    private void registerAccount(final UserEntry entry) {
+        if (accounts.putIfAbsent(entry.getUsername(), entry) == null) {
+            registrationOrder.put(entry.getUsername(), registrations++);
+        }
+    }
+
+    /**
+     * Removes an entry from the username index.
+     *
+     * @param entry The user, artist or host to be removed from the index
+     */
+    private void unregisterAccount(final UserEntry entry) {
+        if (accounts.remove(entry.getUsername(), entry)) {
+            registrationOrder.remove(entry.getUsername());
         }
     }
 
+    /**
+     * Creates the playlist chart. Playlists with the same number of followers are ordered by
+     * creation timestamp, then by their owner's position in the list of users and then by
+     * their position in the owner's list of playlists.
+     *
+     * @return The playlist chart
+     */
+    private Leaderboard<Playlist> newPlaylistChart() {
+        return new Leaderboard<>(Comparator.comparingInt(Playlist::getTimestamp)
+                .thenComparing(playlist -> registrationOrder.get(playlist.getOwner())));
+    }
+
     /**
      * Sets songs.
      *
      * @param songInputList The song input list
      */
     public void setSongs(final List<SongInput> songInputList) {
-        songs = new ArrayList<>();
+        songs.clear();
+        songChart.clear();
+        libraryIndex.clear();
+        libraryChanged();
         for (SongInput songInput : songInputList) {
-            songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
-                    songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
-                    songInput.getReleaseYear(), songInput.getArtist()));
+            Song song = new Song(songInput.getName(), songInput.getDuration(),
+                    songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
+                    songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist());
+            songs.add(song);
+            songChart.add(song, song.getLikes());
+            libraryIndex.add(song);
         }
     }
 
@@ -89,7 +284,9 @@ public final class Admin {
      * @param podcastInputList The podcast input list
      */
     public void setPodcasts(final List<PodcastInput> podcastInputList) {
-        podcasts = new ArrayList<>();
+        podcasts.clear();
+        podcastNames.clear();
+        libraryChanged();
         for (PodcastInput podcastInput : podcastInputList) {
             List<Episode> episodes = new ArrayList<>();
             for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
@@ -97,39 +294,95 @@ public final class Admin {
                                          episodeInput.getDuration(),
                                          episodeInput.getDescription()));
             }
-            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
+            Podcast podcast = new Podcast(podcastInput.getName(), podcastInput.getOwner(),
+                    episodes);
+            podcasts.add(podcast);
+            podcastNames.add(podcast);
         }
     }
 
+    /**
+     * Gets users.
+     *
+     * @return The users, as a read-only view that follows the changes
+     */
+    public List<User> getUsers() {
+        return usersView;
+    }
+
+    /**
+     * Gets artists.
+     *
+     * @return The artists, as a read-only view that follows the changes
+     */
+    public List<Artist> getArtists() {
+        return artistsView;
+    }
+
+    /**
+     * Gets hosts.
+     *
+     * @return The hosts, as a read-only view that follows the changes
+     */
+    public List<Host> getHosts() {
+        return hostsView;
+    }
+
     /**
      * Gets songs.
      *
-     * @return The songs
+     * @return The songs, as a read-only view that follows the changes
      */
     public List<Song> getSongs() {
-        return new ArrayList<>(songs);
+        return songsView;
     }
 
     /**
      * Gets podcasts.
      *
-     * @return The podcasts
+     * @return The podcasts, as a read-only view that follows the changes
      */
     public List<Podcast> getPodcasts() {
-        return new ArrayList<>(podcasts);
+        return podcastsView;
+    }
+
+    /**
+     * Gets albums.
+     *
+     * @return The albums, as a read-only view that follows the changes
+     */
+    public List<Album> getAlbums() {
+        return albumsView;
     }
 
     /**
      * Gets playlists.
      *
-     * @return The playlists
+     * @return The playlists of all the users, as a read-only view that follows the changes
      */
     public List<Playlist> getPlaylists() {
-        List<Playlist> playlists = new ArrayList<>();
-        for (User user : users) {
-            playlists.addAll(user.getPlaylists());
+        return playlistsView;
+    }
+
+    /**
+     * Finds where the playlists of the users registered after an account start.
+     *
+     * @param username The username of the account
+     * @return The position of the first playlist whose owner was registered later
+     */
+    private int playlistsAfter(final String username) {
+        int order = registrationOrder.get(username);
+        int low = 0;
+        int high = playlists.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (registrationOrder.get(playlists.get(middle).getOwner()) <= order) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
-        return playlists;
+        return low;
     }
 
     /**
@@ -139,12 +392,15 @@ public final class Admin {
      * @return The user
      */
     public User getUser(final String username) {
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return user;
-            }
+        UserEntry entry = accounts.get(username);
+        if (!(entry instanceof User)) {
+            return null;
         }
-        return null;
+
+        // the player has to be up to date before it is read or changed
+        User user = (User) entry;
+        user.catchUp(timestamp);
+        return user;
     }
 
     /**
@@ -154,16 +410,9 @@ public final class Admin {
      * @return The artist with the specified username, or null if not found
      */
     public Artist getArtist(final String username) {
-        // iterate through the list of artists
-        for (Artist artist : artists) {
-            // if the current artist has the specified username
-            if (artist.getUsername().equals(username)) {
-                // return the current artist
-                return artist;
-            }
-        }
-        // if no artist with the specified username was found, return null
-        return null;
+        // look the username up in the index and make sure it belongs to an artist
+        UserEntry entry = accounts.get(username);
+        return entry instanceof Artist ? (Artist) entry : null;
     }
 
     /**
@@ -173,16 +422,9 @@ public final class Admin {
      * @return The host with the specified username, or null if not found
      */
     public Host getHost(final String username) {
-        // iterate through the list of hosts
-        for (Host host : hosts) {
-            // if the current host has the specified username
-            if (host.getUsername().equals(username)) {
-                // return the current host
-                return host;
-            }
-        }
-        // if no host with the specified username was found, return null
-        return null;
+        // look the username up in the index and make sure it belongs to a host
+        UserEntry entry = accounts.get(username);
+        return entry instanceof Host ? (Host) entry : null;
     }
 
     /**
@@ -191,14 +433,222 @@ public final class Admin {
      * @param newTimestamp The new timestamp
      */
     public void updateTimestamp(final int newTimestamp) {
-        int elapsed = newTimestamp - timestamp;
+        // the players catch up lazily, when their users are looked up, except the stepped ones
+        if (!steppedUsers.isEmpty()) {
+            steppedUsers.removeIf(user -> accounts.get(user.getUsername()) != user);
+            List<User> stepped = new ArrayList<>(steppedUsers);
+            // in the order of the users list, in which all the users used to be simulated
+            stepped.sort(Comparator.comparing(user -> registrationOrder.get(user.getUsername())));
+            for (User user : stepped) {
+                user.catchUp(newTimestamp);
+                if (!isPastTrackEnd(user)) {
+                    steppedUsers.remove(user);
+                }
+            }
+        }
         timestamp = newTimestamp;
-        if (elapsed == 0) {
-            return;
+    }
+
+    /**
+     * Brings the players playing a collection up to date, before the collection changes.
+     *
+     * @param collection The collection
+     */
+    public void catchUpListeners(final AudioCollection collection) {
+        listenersOf(collection);
+    }
+
+    /**
+     * Gets the users whose player is on a song or collection, brought up to date. The users
+     * that loaded something else since, or were deleted, are dropped from its listeners.
+     *
+     * @param entry The loaded song or collection
+     * @return The users still on the entry, in no particular order
+     */
+    private List<User> listenersOf(final LibraryEntry entry) {
+        List<User> current = new ArrayList<>();
+        Iterator<User> iterator = listeners.get(entry).iterator();
+        while (iterator.hasNext()) {
+            User user = iterator.next();
+            // a player only gets back to the entry by loading it again, which records it
+            if (accounts.get(user.getUsername()) != user || !isOn(user, entry)) {
+                iterator.remove();
+                continue;
+            }
+
+            user.catchUp(timestamp);
+            if (isOn(user, entry)) {
+                current.add(user);
+            }
         }
+        return current;
+    }
 
-        for (User user : users) {
-            user.simulateTime(elapsed);
+    /**
+     * Checks if an album or podcast, or one of its tracks, is playing. The players count
+     * themselves on what they play, so nothing is checked when nobody is counted. Otherwise
+     * the counted players may have moved on since they were last brought up to date, so
+     * the players loaded with the collection or a track are brought up to date first. A
+     * song could also be reached from a playlist it is no longer in, so the players of the
+     * playlists it was added to are brought up to date as well.
+     *
+     * @param collection The album or podcast
+     * @return True if a player is on the collection or one of its tracks
+     */
+    private boolean isPlaying(final AudioCollection collection) {
+        if (!hasListeners(collection)) {
+            return false;
+        }
+
+        listenersOf(collection);
+        for (int i = 0; i < collection.getNumberOfTracks(); i++) {
+            AudioFile track = collection.getTrackByIndex(i);
+            listenersOf(track);
+            if (track instanceof Song) {
+                for (Playlist playlist : songPlaylists.get((Song) track)) {
+                    listenersOf(playlist);
+                }
+            }
+        }
+        return hasListeners(collection);
+    }
+
+    /**
+     * Checks if any player is counted on a collection or one of its tracks.
+     *
+     * @param collection The collection
+     * @return True if a player is counted
+     */
+    private static boolean hasListeners(final AudioCollection collection) {
+        if (collection.getListeners() > 0) {
+            return true;
+        }
+        for (int i = 0; i < collection.getNumberOfTracks(); i++) {
+            if (collection.getTrackByIndex(i).getListeners() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the player of a user is on a song or collection.
+     *
+     * @param user  The user
+     * @param entry The song or collection
+     * @return True if the player plays the collection or the song
+     */
+    private static boolean isOn(final User user, final LibraryEntry entry) {
+        PlayerSource source = user.getPlayer().getSource();
+        return source != null
+                && (source.getAudioCollection() == entry || source.getAudioFile() == entry);
+    }
+
+    /**
+     * Records that a user loaded a song or collection in the player. A player left with more
+     * time than its track lasts is simulated at every timestamp from now on.
+     *
+     * @param user  The user
+     * @param entry The loaded song or collection
+     */
+    public void addListener(final User user, final LibraryEntry entry) {
+        listeners.add(entry, user);
+        if (isPastTrackEnd(user)) {
+            steppedUsers.add(user);
+        }
+    }
+
+    /**
+     * Checks whether a user's player has more time left than its track lasts.
+     *
+     * @param user The user
+     * @return True if the remaining time is longer than the track
+     */
+    private static boolean isPastTrackEnd(final User user) {
+        PlayerSource source = user.getPlayer().getSource();
+        return source != null && source.isPastTrackEnd();
+    }
+
+    /**
+     * Records that an artist's or host's page showed up in a user's search bar.
+     *
+     * @param page   The username of the artist or host
+     * @param viewer The username of the user
+     */
+    public void addPageViewer(final String page, final String viewer) {
+        pageViewers.add(page, viewer);
+    }
+
+    /**
+     * Checks if an artist's or host's page is still among the results or the selection of
+     * any search bar, dropping the search bars that moved on.
+     *
+     * @param page The username of the artist or host
+     * @param type The type of the page, artist or host
+     * @return True if a search bar refers to the page
+     */
+    private boolean isPageViewed(final String page, final String type) {
+        boolean viewed = false;
+        Iterator<String> iterator = pageViewers.get(page).iterator();
+        while (iterator.hasNext()) {
+            UserEntry entry = accounts.get(iterator.next());
+            if (!(entry instanceof User)) {
+                iterator.remove();
+                continue;
+            }
+
+            SearchBar searchBar = ((User) entry).getSearchBar();
+            boolean inResults = searchBar.getUserResults().stream()
+                    .anyMatch(result -> result.getUsername().equals(page));
+            boolean selected = searchBar.getLastSelectedUser() != null
+                    && searchBar.getLastSelectedUser().getUsername().equals(page);
+            if (!inResults && !selected) {
+                iterator.remove();
+            } else if (selected || type.equals(searchBar.getLastSearchType())) {
+                viewed = true;
+            }
+        }
+        return viewed;
+    }
+
+    /**
+     * Records that a song was added to a playlist. The playlist stays recorded after the
+     * song is removed, since a player may still be on the song.
+     *
+     * @param playlist The playlist
+     * @param song     The song
+     */
+    public void addPlaylistSong(final Playlist playlist, final Song song) {
+        songPlaylists.add(song, playlist);
+    }
+
+    /**
+     * Records that a user liked or stopped liking a song.
+     *
+     * @param user  The user
+     * @param song  The song
+     * @param liked True if the song is now liked by the user
+     */
+    public void updateLike(final User user, final Song song, final boolean liked) {
+        if (liked) {
+            songLikers.add(song, user);
+        } else {
+            songLikers.remove(song, user);
+        }
+    }
+
+    /**
+     * Records that a user followed or stopped following a playlist.
+     *
+     * @param user     The user
+     * @param playlist The playlist
+     * @param followed True if the playlist is now followed by the user
+     */
+    public void updateFollow(final User user, final Playlist playlist, final boolean followed) {
+        if (followed) {
+            playlistFollowers.add(playlist, user);
+        } else {
+            playlistFollowers.remove(playlist, user);
         }
     }
 
@@ -208,16 +658,9 @@ public final class Admin {
      * @return The top 5 songs
      */
     public List<String> getTop5Songs() {
-        List<Song> sortedSongs = new ArrayList<>(songs);
-        sortedSongs.sort(Comparator.comparingInt(Song::getLikes).reversed());
         List<String> topSongs = new ArrayList<>();
-        int count = 0;
-        for (Song song : sortedSongs) {
-            if (count >= LIMIT) {
-                break;
-            }
+        for (Song song : songChart.top(LIMIT)) {
             topSongs.add(song.getName());
-            count++;
         }
         return topSongs;
     }
@@ -228,68 +671,25 @@ public final class Admin {
      * @return The top 5 playlists
      */
     public List<String> getTop5Playlists() {
-        List<Playlist> sortedPlaylists = new ArrayList<>(getPlaylists());
-        sortedPlaylists.sort(Comparator.comparingInt(Playlist::getFollowers)
-                .reversed()
-                .thenComparing(Playlist::getTimestamp, Comparator.naturalOrder()));
         List<String> topPlaylists = new ArrayList<>();
-        int count = 0;
-        for (Playlist playlist : sortedPlaylists) {
-            if (count >= LIMIT) {
-                break;
-            }
+        for (Playlist playlist : playlistChart.top(LIMIT)) {
             topPlaylists.add(playlist.getName());
-            count++;
         }
         return topPlaylists;
     }
 
     /**
-     * Gets top 5 albums based on the number of likes.
+     * Gets top 5 albums based on the number of likes. If two albums have the same number
+     * of likes, the one lexico-graphically smaller is placed first.
      *
      * @return The top 5 albums
      */
     public List<String> getTop5Albums() {
-        // calculate the number of likes for each album
-        for (Album album : albums) {
-            Integer albumLikes = 0;
-
-            // iterate through the songs of the current album
-            for (Song song : album.getSongs()) {
-                // add the number of likes of the current song to the total number of likes
-                albumLikes += song.getLikes();
-            }
-
-            // set the number of likes for the current album
-            album.setLikes(albumLikes);
-        }
-
-        // create a list of albums sorted by the number of likes
-        List<Album> sortedAlbums = new ArrayList<>(albums);
-
-        // if two albums have the same number of likes,
-        // the one lexico-graphically smaller is placed first
-        sortedAlbums.sort(Comparator.comparingInt(Album::getLikes).reversed()
-                .thenComparing(Album::getName, Comparator.naturalOrder()));
-
-        // create a list to store the names of the top 5 albums
+        // the album likes are kept up to date by updateSongLikes
         List<String> topAlbums = new ArrayList<>();
-
-        int count = 0;
-        // iterate through the sorted list of albums
-        for (Album album : sortedAlbums) {
-            // if the top 5 albums have been found, stop iterating
-            if (count >= LIMIT) {
-                break;
-            }
-
-            // add the name of the current album to the list of top albums
+        for (Album album : albumChart.top(LIMIT)) {
             topAlbums.add(album.getName());
-            // increment the number of albums found
-            count++;
         }
-
-        // return the list of top albums
         return topAlbums;
     }
 
@@ -299,47 +699,78 @@ public final class Admin {
      * @return The top 5 artists
      */
     public List<String> getTop5Artists() {
-        // calculate the number of likes for each artist
-        for (Artist artist : artists) {
-            Integer artistLikes = 0;
+        // the artist likes are kept up to date by updateSongLikes
+        List<String> topArtists = new ArrayList<>();
+        for (Artist artist : artistChart.top(LIMIT)) {
+            topArtists.add(artist.getUsername());
+        }
+        return topArtists;
+    }
 
-            // iterate through the albums of the current artist
-            for (Album album : artist.getAlbums()) {
-                // iterate through the songs of the current album
-                for (Song song : album.getSongs()) {
-                    // add the number of likes of the current song to the total number of likes
-                    artistLikes += song.getLikes();
-                }
-            }
+    /**
+     * Moves a song, its album and its artist to their new positions in the charts after
+     * the song was liked or disliked.
+     *
+     * @param song  The song whose number of likes changed
+     * @param delta The change in the number of likes
+     */
+    public void updateSongLikes(final Song song, final int delta) {
+        songChart.update(song, song.getLikes());
 
-            // set the number of likes for the current artist
-            artist.setLikes(artistLikes);
+        // songs from the library don't belong to any artist's album
+        Album album = songAlbums.get(song);
+        if (album == null) {
+            return;
         }
 
-        // create a list of artists sorted by the number of likes
-        List<Artist> sortedArtists = new ArrayList<>(artists);
-        // create a list to store the names of the top 5 artists
-        List<String> topArtists = new ArrayList<>();
+        album.setLikes(album.getLikes() + delta);
+        albumChart.update(album, album.getLikes());
 
-        // sort the list of artists by the number of likes
-        sortedArtists.sort(Comparator.comparingInt(Artist::getLikes).reversed());
+        Artist artist = getArtist(album.getOwner());
+        if (artist != null) {
+            artist.setLikes(artist.getLikes() + delta);
+            artistChart.update(artist, artist.getLikes());
+        }
+    }
 
-        int count = 0;
-        // iterate through the sorted list of artists
-        for (Artist artist : sortedArtists) {
-            // if the top 5 artists have been found, stop iterating
-            if (count >= LIMIT) {
-                break;
-            }
+    /**
+     * Adds a newly created playlist to the list of playlists and to the playlist chart.
+     *
+     * @param playlist The playlist
+     */
+    public void addPlaylist(final Playlist playlist) {
+        // the new playlist is the owner's last one
+        playlists.add(playlistsAfter(playlist.getOwner()), playlist);
+        playlistChart.add(playlist, playlist.getFollowers());
+        playlistNames.add(playlist);
+        playlistsChanged();
+    }
 
-            // add the name of the current artist to the list of top artists
-            topArtists.add(artist.getUsername());
-            // increment the number of artists found
-            count++;
-        }
+    /**
+     * Moves a playlist to its new position in the chart after it was followed or unfollowed.
+     *
+     * @param playlist The playlist whose number of followers changed
+     */
+    public void updatePlaylistFollowers(final Playlist playlist) {
+        playlistChart.update(playlist, playlist.getFollowers());
+        // the searches may filter the playlists by their number of followers
+        playlistsChanged();
+    }
 
-        // return the list of top artists
-        return topArtists;
+    /**
+     * Marks the searches of songs, albums and podcasts made so far as out of date, after one
+     * of them was added or removed.
+     */
+    public void libraryChanged() {
+        libraryVersion++;
+    }
+
+    /**
+     * Marks the searches of playlists made so far as out of date, after a playlist was
+     * created, deleted, followed, unfollowed or had its visibility switched.
+     */
+    public void playlistsChanged() {
+        playlistVersion++;
     }
 
     /**
@@ -369,16 +800,7 @@ public final class Admin {
      * @return True if a user with the specified username exists, false otherwise
      */
     public boolean isUser(final String username) {
-        // iterate through the list of users
-        for (User user : users) {
-            // if the current user has the specified username, return true
-            if (user.getUsername().equals(username)) {
-                return true;
-            }
-        }
-
-        // if no user with the specified username was found, return false
-        return false;
+        return accounts.get(username) instanceof User;
     }
 
     /**
@@ -387,16 +809,7 @@ public final class Admin {
      * @return True if an artist with the specified username exists, false otherwise
      */
     public boolean isArtist(final String username) {
-        // iterate through the list of artists
-        for (Artist artist : artists) {
-            // if the current artist has the specified username, return true
-            if (artist.getUsername().equals(username)) {
-                return true;
-            }
-        }
-
-        // if no artist with the specified username was found, return false
-        return false;
+        return accounts.get(username) instanceof Artist;
     }
 
     /**
@@ -405,16 +818,16 @@ public final class Admin {
      * @return True if a host with the specified username exists, false otherwise
      */
     public boolean isHost(final String username) {
-        // iterate through the list of hosts
-        for (Host host : hosts) {
-            // if the current host has the specified username, return true
-            if (host.getUsername().equals(username)) {
-                return true;
-            }
-        }
+        return accounts.get(username) instanceof Host;
+    }
 
-        // if no host with the specified username was found, return false
-        return false;
+    /**
+     * Checks if the username belongs to any account, be it a user, an artist or a host.
+     * @param username The username to be checked
+     * @return True if an account with the specified username exists, false otherwise
+     */
+    public boolean isRegistered(final String username) {
+        return accounts.containsKey(username);
     }
 
     /**
@@ -424,8 +837,7 @@ public final class Admin {
      */
     public String addUser(final CommandInput commandInput) {
         // check if the username is already taken by a user, artist or host
-        if (isUser(commandInput.getUsername()) || isArtist(commandInput.getUsername())
-               || isHost(commandInput.getUsername())) {
+        if (isRegistered(commandInput.getUsername())) {
            return "The username " + commandInput.getUsername() + " is already taken.";
         }
 
@@ -434,20 +846,29 @@ public final class Admin {
             // if the user is a simple user, create a new user and add it to the list of users
             User user = new User(commandInput.getUsername(), commandInput.getAge(),
                    commandInput.getCity());
+            // the user only listens to what happens from now on
+            user.setLastUpdate(timestamp);
+            restoreBookmarks(user);
 
             users.add(user);
+            registerAccount(user);
         } else if (commandInput.getType().equals("artist")) {
             // if the user is an artist, create a new artist and add it to the list of artists
             Artist artist = new Artist(commandInput.getUsername(), commandInput.getAge(),
                    commandInput.getCity());
 
             artists.add(artist);
+            registerAccount(artist);
+            artistChart.add(artist, artist.getLikes());
+            artistNames.add(artist);
         } else if (commandInput.getType().equals("host")) {
             // if the user is a host, create a new host and add it to the list of hosts
             Host host = new Host(commandInput.getUsername(), commandInput.getAge(),
                    commandInput.getCity());
 
             hosts.add(host);
+            hostNames.add(host);
+            registerAccount(host);
         }
 
         // if the user was added successfully, return a success message
@@ -461,8 +882,7 @@ public final class Admin {
      */
     public String addAlbum(final CommandInput commandInput) {
         // check if the username is already taken by a user, artist or host
-        if (!isUser(commandInput.getUsername()) && !isArtist(commandInput.getUsername())
-                && !isHost(commandInput.getUsername())) {
+        if (!isRegistered(commandInput.getUsername())) {
             return "The username " + commandInput.getUsername() + " does not exist.";
         }
 
@@ -476,29 +896,27 @@ public final class Admin {
         Artist currentArtist = getArtist(commandInput.getUsername());
 
         // verify if artist already has an album with the same name
-        for (Album album : currentArtist.getAlbums()) {
-            if (album.getName().equals(commandInput.getName())) {
-                return commandInput.getUsername() + " has another album with the same name.";
-            }
+        if (currentArtist.getAlbum(commandInput.getName()) != null) {
+            return commandInput.getUsername() + " has another album with the same name.";
         }
 
-        int songIndex = 0;
         // check for duplicate songs in the album
+        Set<String> songNames = new HashSet<>();
         for (SongInput songInput : commandInput.getSongs()) {
-            for (SongInput songInput1 : commandInput.getSongs().subList(0, songIndex)) {
-                if (songInput.getName().equals(songInput1.getName())) {
-                    return commandInput.getUsername()
-                            + " has the same song at least twice in this album.";
-                }
+            if (!songNames.add(songInput.getName())) {
+                return commandInput.getUsername()
+                        + " has the same song at least twice in this album.";
             }
-
-            songIndex++;
         }
 
         // create a new album with the specified name and add it to the artist's list of albums
         Album album = new Album(commandInput.getName(), commandInput.getUsername());
-        currentArtist.getAlbums().add(album);
+        currentArtist.addAlbum(album);
+        pageChanged(currentArtist);
+        libraryChanged();
         albums.add(album);
+        albumChart.add(album, album.getLikes());
+        albumNames.add(album);
 
         // add the specified songs to the album and to the list of songs
         for (SongInput songInput : commandInput.getSongs()) {
@@ -508,6 +926,9 @@ public final class Admin {
                     songInput.getReleaseYear(), songInput.getArtist());
             album.getSongs().add(newSong);
             songs.add(newSong);
+            songChart.add(newSong, newSong.getLikes());
+            songAlbums.put(newSong, album);
+            libraryIndex.add(newSong);
         }
 
         // if the album was added successfully, return a success message
@@ -522,8 +943,7 @@ public final class Admin {
      */
     public String removeAlbum(final CommandInput commandInput) {
         // check if the username is already taken by a user, artist or host
-        if (!isUser(commandInput.getUsername()) && !isArtist(commandInput.getUsername())
-                && !isHost(commandInput.getUsername())) {
+        if (!isRegistered(commandInput.getUsername())) {
             return "The username " + commandInput.getUsername() + " doesn't exist.";
         }
 
@@ -536,70 +956,55 @@ public final class Admin {
         Artist currentArtist = getArtist(commandInput.getUsername());
 
         // verify if the artist already has an album with the same name
-        boolean found = false;
-        Album deletedAlbum = null;
-        // iterate through the albums of the current artist
-        for (Album album : currentArtist.getAlbums()) {
-            // check if the current album has the specified name
-            if (album.getName().equals(commandInput.getName())) {
-                // mark the album as found
-                found = true;
-                // store the album to be deleted
-                deletedAlbum = album;
-
-                break;
-            }
-        }
+        Album deletedAlbum = currentArtist.getAlbum(commandInput.getName());
 
         // check if the album was not found, return an error message
-        if (!found) {
+        if (deletedAlbum == null) {
             return commandInput.getUsername() + " doesn't have an album with the given name.";
         }
 
-        // iterate through the users
-        for (User user : users) {
-            // retrieve the player source of the current user
-            PlayerSource userSource = user.getPlayer().getSource();
-
-            // check if the album is playing
-            if (userSource != null && userSource.getAudioCollection() == deletedAlbum) {
-                // return an error message
-                return commandInput.getUsername() + " can't delete this album.";
-            }
-
-            // iterate through the songs of the album
-            for (Song song : deletedAlbum.getSongs()) {
-                // check if a song is playing
-                if (userSource != null && userSource.getAudioFile() == song) {
-                    // return an error message
+        // check if a song from the album is in a playlist; the playlists of deleted users
+        // were already dropped from the index
+        for (Song song : deletedAlbum.getSongs()) {
+            for (Playlist playlist : songPlaylists.get(song)) {
+                if (playlist.containsSong(song)) {
                     return commandInput.getUsername() + " can't delete this album.";
                 }
             }
+        }
 
-            // check if a song from the album is in a playlist
-            for (Playlist playlist : user.getPlaylists()) {
-                for (Song song : deletedAlbum.getSongs()) {
-                    if (playlist.getSongs().contains(song)) {
-                        return commandInput.getUsername() + " can't delete this album.";
-                    }
-                }
-            }
+        // check if the album or one of its songs is playing
+        if (isPlaying(deletedAlbum)) {
+            return commandInput.getUsername() + " can't delete this album.";
         }
         // if the album is not playing, delete it
-        currentArtist.getAlbums().remove(deletedAlbum);
+        currentArtist.removeAlbum(deletedAlbum);
+        pageChanged(currentArtist);
+        libraryChanged();
         albums.remove(deletedAlbum);
+        albumChart.remove(deletedAlbum);
+        albumNames.remove(deletedAlbum);
+
+        // the album's likes no longer count for the artist
+        currentArtist.setLikes(currentArtist.getLikes() - deletedAlbum.getLikes());
+        artistChart.update(currentArtist, currentArtist.getLikes());
 
         // remove the album's songs and references from playlists and liked songs of users
         for (Song song : deletedAlbum.getSongs()) {
             songs.remove(song);
+            songChart.remove(song);
+            songAlbums.remove(song);
+            libraryIndex.remove(song);
 
-            for (Playlist playlist : getPlaylists()) {
-                playlist.getSongs().remove(song);
+            for (Playlist playlist : songPlaylists.removeAll(song)) {
+                playlist.removeSong(song);
             }
-            for (User user : users) {
-                user.getLikedSongs().remove(song);
+            for (User user : songLikers.removeAll(song)) {
+                user.removeLikedSong(song);
             }
+            listeners.removeAll(song);
         }
+        listeners.removeAll(deletedAlbum);
 
         // if the album was deleted successfully, return a success message
         return commandInput.getUsername() + " deleted the album successfully.";
@@ -612,8 +1017,7 @@ public final class Admin {
      */
     public String addPodcast(final CommandInput command) {
         // check if the username is already taken by a user, artist or host
-        if (!isUser(command.getUsername()) && !isArtist(command.getUsername())
-                && !isHost(command.getUsername())) {
+        if (!isRegistered(command.getUsername())) {
             return "The username " + command.getUsername() + " does not exist.";
         }
 
@@ -627,28 +1031,25 @@ public final class Admin {
         Host currentHost = getHost(command.getUsername());
 
         // verify if the host already has a podcast with the same name
-        for (Podcast podcast : currentHost.getPodcasts()) {
-            if (podcast.getName().equals(command.getName())) {
-                return command.getUsername() + " has another podcast with the same name.";
-            }
+        if (currentHost.getPodcast(command.getName()) != null) {
+            return command.getUsername() + " has another podcast with the same name.";
         }
 
         // check for duplicate episodes in the podcast
-        int episodeIndex = 0;
+        Set<String> episodeNames = new HashSet<>();
         for (EpisodeInput episodeInput : command.getEpisodes()) {
-            for (EpisodeInput episodeInput1 : command.getEpisodes().subList(0, episodeIndex)) {
-                if (episodeInput.getName().equals(episodeInput1.getName())) {
-                    return command.getUsername() + " has the same episode in this podcast.";
-                }
+            if (!episodeNames.add(episodeInput.getName())) {
+                return command.getUsername() + " has the same episode in this podcast.";
             }
-
-            episodeIndex++;
         }
 
         // create a new podcast with the specified name and add it to the host's list of podcasts
         Podcast podcast = new Podcast(command.getName(), command.getUsername(), new ArrayList<>());
-        currentHost.getPodcasts().add(podcast);
+        currentHost.addPodcast(podcast);
+        pageChanged(currentHost);
+        libraryChanged();
         podcasts.add(podcast);
+        podcastNames.add(podcast);
 
         // add the specified episodes to the podcast and to the list of episodes
         for (EpisodeInput episodeInput : command.getEpisodes()) {
@@ -669,8 +1070,7 @@ public final class Admin {
      */
     public String removePodcast(final CommandInput commandInput) {
         // check if the username is already taken by a user, artist or host
-        if (!isUser(commandInput.getUsername()) && !isArtist(commandInput.getUsername())
-                && !isHost(commandInput.getUsername())) {
+        if (!isRegistered(commandInput.getUsername())) {
             return "The username " + commandInput.getUsername() + " doesn't exist.";
         }
 
@@ -683,40 +1083,23 @@ public final class Admin {
         Host currentHost = getHost(commandInput.getUsername());
 
         // verify if the host already has a podcast with the same name
-        boolean found = false;
-        Podcast deletedPodcast = null;
-        // iterate through the podcasts of the current host
-        for (Podcast podcast : currentHost.getPodcasts()) {
-            // check if the current podcast has the specified name
-            if (podcast.getName().equals(commandInput.getName())) {
-                // mark the podcast as found
-                found = true;
-                // store the podcast to be deleted
-                deletedPodcast = podcast;
-
-                break;
-            }
-        }
+        Podcast deletedPodcast = currentHost.getPodcast(commandInput.getName());
 
         // return an error message if the podcast was not found
-        if (!found) {
+        if (deletedPodcast == null) {
             return commandInput.getUsername() + " doesn't have a podcast with the given name.";
         }
 
-        // iterate through the users
-        for (User user : users) {
-            // retrieve the player source of the current user
-            PlayerSource userSource = user.getPlayer().getSource();
-
-            // check if the podcast is playing
-            if (userSource != null && userSource.getAudioCollection() == deletedPodcast) {
-                // if the podcast is playing, return an error message
-                return commandInput.getUsername() + " can't delete this podcast.";
-            }
+        // check if the podcast is playing
+        if (isPlaying(deletedPodcast)) {
+            return commandInput.getUsername() + " can't delete this podcast.";
         }
         // if the podcast is not playing, delete it
-        currentHost.getPodcasts().remove(deletedPodcast);
+        currentHost.removePodcast(deletedPodcast);
+        pageChanged(currentHost);
+        libraryChanged();
         podcasts.remove(deletedPodcast);
+        podcastNames.remove(deletedPodcast);
 
         // if the podcast was deleted successfully, return a success message
         return commandInput.getUsername() + " deleted the podcast successfully.";
@@ -957,35 +1340,65 @@ public final class Admin {
     }
 
     /**
-     * Generates a StringBuilder containing content based on the user's current page
+     * Generates the content of the user's current page. The liked content, artist and host
+     * pages are only generated again after something they show changed. The home page is
+     * generated every time, since generating it adds the likes of the songs to the followed
+     * playlists, which changes their order on the next one.
      *
      * @param username The username of the user for whom the current page is generated
-     * @return A StringBuilder containing content based on the user's current page
+     * @return The content of the user's current page
      */
-    public StringBuilder printCurrentPage(final String username) {
+    public String printCurrentPage(final String username) {
         // retrieve the user with the specified username
         User user = getUser(username);
 
         // check if the user is offline
         if (user.getStatus().equals(Enums.ConnectionStatus.OFFLINE)) {
             // if the user is offline, return an error message
-            return new StringBuilder(username + " is offline.");
+            return username + " is offline.";
         }
 
-        // check the user's current page and generate the corresponding StringBuilder
+        // check the user's current page and generate the corresponding content
         if (user.getCurrentPage() == Enums.CurrentPage.HOME_PAGE) {
-            return printHomePage(username);
+            return printHomePage(username).toString();
         } else if (user.getCurrentPage() == Enums.CurrentPage.ARTIST_PAGE) {
             String artistName = user.getSearchBar().getLastSelectedUser().getUsername();
-            return printArtistPage(artistName);
+            return renderedPage(getArtist(artistName), () -> printArtistPage(artistName));
         } else if (user.getCurrentPage() == Enums.CurrentPage.HOST_PAGE) {
             String hostName = user.getSearchBar().getLastSelectedUser().getUsername();
-            return printHostPage(hostName);
+            return renderedPage(getHost(hostName), () -> printHostPage(hostName));
         } else {
-            return printLikedContentPage(username);
+            return renderedPage(user, () -> printLikedContentPage(username));
         }
     }
 
+    /**
+     * Gets a page as last printed, generating it if something it shows changed since.
+     *
+     * @param owner    The user, artist or host the page shows
+     * @param renderer Generates the page
+     * @return The content of the page
+     */
+    private String renderedPage(final UserEntry owner, final Supplier<StringBuilder> renderer) {
+        String page = renderedPages.get(owner);
+        if (page == null) {
+            page = renderer.get().toString();
+            renderedPages.put(owner, page);
+        }
+        return page;
+    }
+
+    /**
+     * Drops the page of a user, artist or host as last printed, after something it shows
+     * changed: the liked songs or followed playlists of a user, the albums, merch or events
+     * of an artist, or the podcasts or announcements of a host.
+     *
+     * @param owner The user, artist or host
+     */
+    public void pageChanged(final UserEntry owner) {
+        renderedPages.remove(owner);
+    }
+
     /**
      * Changes the user's current page based on the provided CommandInput
      *
@@ -1063,8 +1476,7 @@ public final class Admin {
      */
     public String deleteUser(final CommandInput command) {
         // check if the specified username exists and belongs to a user, artist, or host
-        if (!isUser(command.getUsername()) && !isArtist(command.getUsername())
-                && !isHost(command.getUsername())) {
+        if (!isRegistered(command.getUsername())) {
             return "The username " + command.getUsername() + " doesn't exist.";
         }
 
@@ -1074,33 +1486,52 @@ public final class Admin {
 
             // check if any of the user's playlists are currently being played by other users
             for (Playlist playlist : currentUser.getPlaylists()) {
-                for (User user : users) {
+                for (User user : listenersOf(playlist)) {
                     if (user != currentUser) {
-                        PlayerSource userSource = user.getPlayer().getSource();
-                        if (userSource != null && userSource.getAudioCollection() == playlist) {
-                            return command.getUsername() + " can't be deleted.";
-                        }
+                        return command.getUsername() + " can't be deleted.";
                     }
                 }
             }
 
             // if no playlists are currently being played, proceed with user deletion
             users.remove(currentUser);
+            // the player of a deleted user no longer counts as a listener
+            currentUser.getPlayer().stop();
+            if (bookmarkStore != null) {
+                bookmarkStore.forget(currentUser.getUsername());
+            }
+            // the user's playlists are the last ones before the next owner's
+            int end = playlistsAfter(currentUser.getUsername());
+            playlists.subList(end - currentUser.getPlaylists().size(), end).clear();
+            for (Playlist playlist : currentUser.getPlaylists()) {
+                playlistChart.remove(playlist);
+                playlistNames.remove(playlist);
+                listeners.removeAll(playlist);
+                for (Song song : playlist.getSongs()) {
+                    songPlaylists.remove(song, playlist);
+                }
+            }
+            unregisterAccount(currentUser);
+            pageChanged(currentUser);
+            playlistsChanged();
 
             // dislike all songs liked by the user
             for (Song likedSong : currentUser.getLikedSongs()) {
                 likedSong.dislike();
+                songLikers.remove(likedSong, currentUser);
             }
 
             // decrease the number of followers for all playlists followed by the user
             for (Playlist followedPlaylist : currentUser.getFollowedPlaylists()) {
                 followedPlaylist.decreaseFollowers();
+                playlistFollowers.remove(followedPlaylist, currentUser);
             }
 
-            // remove the user from the list of followers for all playlists followed by the user
+            // remove the user's playlists from the playlists followed by their followers
             for (Playlist playlist : currentUser.getPlaylists()) {
-                for (User user : users) {
+                for (User user : playlistFollowers.removeAll(playlist)) {
                     user.getFollowedPlaylists().remove(playlist);
+                    pageChanged(user);
                 }
             }
 
@@ -1110,38 +1541,27 @@ public final class Admin {
             Artist currentArtist = getArtist(command.getUsername());
 
             // check if the artist's page has been searched or selected by other users
-            for (User user : users) {
-                if (user.getSearchBar().getLastSearchType() != null
-                        && user.getSearchBar().getLastSearchType().equals("artist")) {
-                    for (UserEntry searchedArtist : user.getSearchBar().getUserResults()) {
-                        if (searchedArtist.getUsername().equals(command.getUsername())) {
-                            return command.getUsername() + " can't be deleted.";
-                        }
-                    }
-                }
-
-                if (user.getSearchBar().getLastSelectedUser() != null
-                        && user.getSearchBar().getLastSelectedUser().getUsername()
-                        .equals(command.getUsername())) {
-                    return command.getUsername() + " can't be deleted.";
-                }
+            if (isPageViewed(command.getUsername(), "artist")) {
+                return command.getUsername() + " can't be deleted.";
             }
 
             // check if any albums or songs associated with the artist are currently
-            // being played by other users
+            // being played by other users, directly or from a playlist
             for (Album album : currentArtist.getAlbums()) {
-                for (User user : users) {
-                    PlayerSource userSource = user.getPlayer().getSource();
+                if (!listenersOf(album).isEmpty()) {
+                    return command.getUsername() + " can't be deleted.";
+                }
 
-                    // check if an album is playing
-                    if (userSource != null && userSource.getAudioCollection() == album) {
+                for (Song song : album.getSongs()) {
+                    if (!listenersOf(song).isEmpty()) {
                         return command.getUsername() + " can't be deleted.";
                     }
 
-                    // check if a song from the album is playing
-                    for (Song song : album.getSongs()) {
-                        if (userSource != null && userSource.getAudioFile() == song) {
-                            return command.getUsername() + " can't be deleted.";
+                    for (Playlist playlist : songPlaylists.get(song)) {
+                        for (User user : listenersOf(playlist)) {
+                            if (user.getPlayer().getSource().getAudioFile() == song) {
+                                return command.getUsername() + " can't be deleted.";
+                            }
                         }
                     }
                 }
@@ -1149,25 +1569,40 @@ public final class Admin {
 
             // if no albums or songs are currently being played, proceed with artist deletion
             artists.remove(currentArtist);
+            artistChart.remove(currentArtist);
+            artistNames.remove(currentArtist);
+            unregisterAccount(currentArtist);
+            pageChanged(currentArtist);
+            libraryChanged();
+            pageViewers.removeAll(currentArtist.getUsername());
 
             // iterate through the artist's albums
+            Set<Song> deletedSongs = new HashSet<>();
             for (Album album : currentArtist.getAlbums()) {
                 // remove the album from the list of albums
                 albums.remove(album);
+                albumChart.remove(album);
+                albumNames.remove(album);
+                listeners.removeAll(album);
 
                 // remove the album's songs and references from playlists and liked songs of users
                 for (Song song : album.getSongs()) {
-                    songs.remove(song);
-
-                    for (Playlist playlist : getPlaylists()) {
-                        playlist.getSongs().remove(song);
+                    deletedSongs.add(song);
+                    songChart.remove(song);
+                    songAlbums.remove(song);
+                    libraryIndex.remove(song);
+                    listeners.removeAll(song);
+
+                    for (Playlist playlist : songPlaylists.removeAll(song)) {
+                        playlist.removeSong(song);
                     }
 
-                    for (User user : users) {
-                        user.getLikedSongs().remove(song);
+                    for (User user : songLikers.removeAll(song)) {
+                        user.removeLikedSong(song);
                     }
                 }
             }
+            songs.removeIf(deletedSongs::contains);
 
             // if the artist was deleted successfully, return a success message
             return command.getUsername() + " was successfully deleted.";
@@ -1175,36 +1610,25 @@ public final class Admin {
             Host currentHost = getHost(command.getUsername());
 
             // check if the host's page has been searched or selected by other users
-            for (User user : users) {
-                if (user.getSearchBar().getLastSearchType() != null
-                        && user.getSearchBar().getLastSearchType().equals("host")) {
-                    for (UserEntry searchedHost : user.getSearchBar().getUserResults()) {
-                        if (searchedHost.getUsername().equals(command.getUsername())) {
-                            return command.getUsername() + " can't be deleted.";
-                        }
-                    }
-                }
-
-                if (user.getSearchBar().getLastSelectedUser() != null
-                        && user.getSearchBar().getLastSelectedUser().getUsername()
-                        .equals(command.getUsername())) {
-                    return command.getUsername() + " can't be deleted.";
-                }
+            if (isPageViewed(command.getUsername(), "host")) {
+                return command.getUsername() + " can't be deleted.";
             }
 
             // check if any podcasts associated with the host are currently
             // being played by other users
             for (Podcast podcast : currentHost.getPodcasts()) {
-                for (User user : users) {
-                    PlayerSource userSource = user.getPlayer().getSource();
-                    if (userSource != null && userSource.getAudioCollection() == podcast) {
-                        return command.getUsername() + " can't be deleted.";
-                    }
+                if (isPlaying(podcast)) {
+                    return command.getUsername() + " can't be deleted.";
                 }
             }
 
             // if no podcasts are currently being played, proceed with host deletion
             hosts.remove(currentHost);
+            hostNames.remove(currentHost);
+            unregisterAccount(currentHost);
+            pageChanged(currentHost);
+            libraryChanged();
+            pageViewers.removeAll(currentHost.getUsername());
 
             // if the host was deleted successfully, return a success message
             return command.getUsername() + " was successfully deleted.";
@@ -1215,12 +1639,31 @@ public final class Admin {
      * Reset.
      */
     public void reset() {
-        users = new ArrayList<>();
-        artists = new ArrayList<>();
-        hosts = new ArrayList<>();
-        songs = new ArrayList<>();
-        podcasts = new ArrayList<>();
-        albums = new ArrayList<>();
+        users.clear();
+        artists.clear();
+        hosts.clear();
+        songs.clear();
+        podcasts.clear();
+        albums.clear();
+        accounts = new HashMap<>();
+        registrationOrder = new HashMap<>();
+        registrations = 0;
+        songAlbums = new HashMap<>();
+        songChart.clear();
+        albumChart.clear();
+        artistChart.clear();
+        playlistChart.clear();
+        playlists.clear();
+        renderedPages.clear();
+        searchCache.clear();
+        libraryIndex.clear();
+        podcastNames.clear();
+        albumNames.clear();
+        playlistNames.clear();
+        artistNames.clear();
+        hostNames.clear();
+        clearUserReferences();
+        bookmarkStore = null;
         timestamp = 0;
     }
 }
@@ -0,0 +1,20 @@
+package app;
+
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+
+/**
+ * Runs one type of command, registered in the CommandRunner under the command's name.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    /**
+     * Runs the command and writes its response.
+     *
+     * @param commandInput the command input
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
+     */
+    void run(CommandInput commandInput, ResponseWriter response) throws IOException;
+}
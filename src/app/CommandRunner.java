@@ -11,227 +11,259 @@ import app.user.Artist;
 import app.user.Host;
 import app.user.User;
 import app.utils.Enums;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonGenerator;
 import fileio.input.CommandInput;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The type Command runner.
  */
 public final class CommandRunner {
+    // the handler of every command, looked up once for each command read
+    private static final Map<String, CommandHandler> HANDLERS = new ConcurrentHashMap<>();
+
+    static {
+        register("search", CommandRunner::search);
+        register("select", CommandRunner::select);
+        register("load", CommandRunner::load);
+        register("playPause", CommandRunner::playPause);
+        register("repeat", CommandRunner::repeat);
+        register("shuffle", CommandRunner::shuffle);
+        register("forward", CommandRunner::forward);
+        register("backward", CommandRunner::backward);
+        register("like", CommandRunner::like);
+        register("next", CommandRunner::next);
+        register("prev", CommandRunner::prev);
+        register("createPlaylist", CommandRunner::createPlaylist);
+        register("addRemoveInPlaylist", CommandRunner::addRemoveInPlaylist);
+        register("switchVisibility", CommandRunner::switchVisibility);
+        register("showPlaylists", CommandRunner::showPlaylists);
+        register("showAlbums", CommandRunner::showAlbums);
+        register("showPodcasts", CommandRunner::showPodcasts);
+        register("follow", CommandRunner::follow);
+        register("status", CommandRunner::status);
+        register("showPreferredSongs", CommandRunner::showLikedSongs);
+        register("getPreferredGenre", CommandRunner::getPreferredGenre);
+        register("getTop5Songs", CommandRunner::getTop5Songs);
+        register("getTop5Playlists", CommandRunner::getTop5Playlists);
+        register("getTop5Albums", CommandRunner::getTop5Albums);
+        register("getTop5Artists", CommandRunner::getTop5Artists);
+        register("getOnlineUsers", CommandRunner::getOnlineUsers);
+        register("switchConnectionStatus", CommandRunner::switchCommandStatus);
+        register("addUser", CommandRunner::addUser);
+        register("addAlbum", CommandRunner::addAlbum);
+        register("addPodcast", CommandRunner::addPodcast);
+        register("addAnnouncement", CommandRunner::addAnnouncement);
+        register("removeAnnouncement", CommandRunner::removeAnnouncement);
+        register("printCurrentPage", CommandRunner::printCurrentPage);
+        register("addEvent", CommandRunner::addEvent);
+        register("addMerch", CommandRunner::addMerch);
+        register("getAllUsers", CommandRunner::getAllUsers);
+        register("deleteUser", CommandRunner::deleteUser);
+        register("changePage", CommandRunner::changePage);
+        register("removeAlbum", CommandRunner::removeAlbum);
+        register("removePodcast", CommandRunner::removePodcast);
+        register("removeEvent", CommandRunner::removeEvent);
+    }
+
+    private CommandRunner() {
+    }
+
     /**
-     * The Object mapper.
+     * Registers the handler of a command, replacing the previous one with the same name.
+     *
+     * @param command the name of the command
+     * @param handler the handler
      */
-    private static ObjectMapper objectMapper = new ObjectMapper();
-    private static Admin admin = Admin.getInstance();
+    public static void register(final String command, final CommandHandler handler) {
+        HANDLERS.put(command, handler);
+    }
 
-    private CommandRunner() {
+    /**
+     * Gets the handler of a command.
+     *
+     * @param command the name of the command
+     * @return the handler, or null if the command doesn't exist
+     */
+    public static CommandHandler getHandler(final String command) {
+        return command == null ? null : HANDLERS.get(command);
     }
 
     /**
-     * Search object node.
+     * Search command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode search(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void search(final CommandInput commandInput,
+                              final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         Filters filters = new Filters(commandInput.getFilters());
         String type = commandInput.getType();
         ArrayList<String> results = new ArrayList<>();
         String message = null;
 
         if (user == null) {
-            return null;
+            response.writeEmptyResponse();
+            return;
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-
         if (user.getStatus() == Enums.ConnectionStatus.OFFLINE) {
             message = user.getUsername() + " is offline.";
-
-            objectNode.put("message", message);
         } else {
             results = user.search(filters, type);
             message = "Search returned " + results.size() + " results";
-
-            objectNode.put("message", message);
         }
 
-        objectNode.put("results", objectMapper.valueToTree(results));
-
-        return objectNode;
+        response.startUserResponse(commandInput);
+        response.writeString(ResponseWriter.MESSAGE, message);
+        response.writeStrings(ResponseWriter.RESULTS, results);
+        response.endResponse();
     }
 
     /**
-     * Select object node.
+     * Select command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode select(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void select(final CommandInput commandInput,
+                              final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
             message = user.select(commandInput.getItemNumber());
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Load object node.
+     * Load command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode load(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void load(final CommandInput commandInput,
+                            final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
             message = user.load();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Play pause object node.
+     * Play pause command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode playPause(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void playPause(final CommandInput commandInput,
+                                 final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = user.playPause();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Repeat object node.
+     * Repeat command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode repeat(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void repeat(final CommandInput commandInput,
+                              final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
             message = user.repeat();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Shuffle object node.
+     * Shuffle command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode shuffle(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void shuffle(final CommandInput commandInput,
+                               final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         Integer seed = commandInput.getSeed();
         String message = user.shuffle(seed);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Forward object node.
+     * Forward command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode forward(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void forward(final CommandInput commandInput,
+                               final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
             message = user.forward();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Backward object node.
+     * Backward command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode backward(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void backward(final CommandInput commandInput,
+                                final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = user.backward();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Like object node.
+     * Like command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode like(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void like(final CommandInput commandInput,
+                            final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user == null) {
-            return null;
+            response.writeEmptyResponse();
+            return;
         }
 
         if (user.getStatus() == Enums.ConnectionStatus.OFFLINE) {
@@ -240,61 +272,49 @@ public final class CommandRunner {
             message = user.like();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Next object node.
+     * Next command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode next(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void next(final CommandInput commandInput,
+                            final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = user.next();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Prev object node.
+     * Prev command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode prev(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void prev(final CommandInput commandInput,
+                            final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = user.prev();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Create playlist object node.
+     * Create playlist command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode createPlaylist(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void createPlaylist(final CommandInput commandInput,
+                                      final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
@@ -302,587 +322,507 @@ public final class CommandRunner {
                     commandInput.getTimestamp());
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Add remove in playlist object node.
+     * Add remove in playlist command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addRemoveInPlaylist(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void addRemoveInPlaylist(final CommandInput commandInput,
+                                           final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
             message = user.addRemoveInPlaylist(commandInput.getPlaylistId());
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Switch visibility object node.
+     * Switch visibility command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode switchVisibility(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void switchVisibility(final CommandInput commandInput,
+                                        final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = user.switchPlaylistVisibility(commandInput.getPlaylistId());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Switch command status object node.
+     * Switch command status command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode switchCommandStatus(final CommandInput commandInput) {
+    public static void switchCommandStatus(final CommandInput commandInput,
+                                           final ResponseWriter response) throws IOException {
         String message = User.switchUserStatus(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Show playlists object node.
+     * Show playlists command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode showPlaylists(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void showPlaylists(final CommandInput commandInput,
+                                     final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         ArrayList<PlaylistOutput> playlists = user.showPlaylists();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(playlists));
-
-        return objectNode;
+        response.startUserResponse(commandInput);
+        response.writeObject(ResponseWriter.RESULT, playlists);
+        response.endResponse();
     }
 
     /**
-     * Show albums object node.
+     * Show albums command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode showAlbums(final CommandInput commandInput) {
-        Artist artist = admin.getArtist(commandInput.getUsername());
+    public static void showAlbums(final CommandInput commandInput,
+                                  final ResponseWriter response) throws IOException {
+        Artist artist = Admin.getInstance().getArtist(commandInput.getUsername());
         ArrayList<Album> result = artist.showAlbums();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", artist.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
+        response.startUserResponse(commandInput);
 
-        ArrayNode arrayNode = objectMapper.createArrayNode();
+        JsonGenerator generator = response.getGenerator();
+        generator.writeFieldName(ResponseWriter.RESULT);
+        generator.writeStartArray();
 
         for (Album album : result) {
-            ObjectNode albumNode = objectMapper.createObjectNode();
-            albumNode.put("name", album.getName());
+            generator.writeStartObject();
+            response.writeString(ResponseWriter.NAME, album.getName());
 
-            ArrayNode songsNode = objectMapper.createArrayNode();
+            generator.writeFieldName(ResponseWriter.SONGS);
+            generator.writeStartArray();
 
             for (Song song : album.getSongs()) {
-                songsNode.add(song.getName());
+                generator.writeString(song.getName());
             }
 
-            albumNode.put("songs", songsNode);
-
-            arrayNode.add(albumNode);
+            generator.writeEndArray();
+            generator.writeEndObject();
         }
 
-        objectNode.put("result", objectMapper.valueToTree(arrayNode));
-
-        return objectNode;
+        generator.writeEndArray();
+        response.endResponse();
     }
 
     /**
-     * Show podcasts object node.
+     * Show podcasts command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode showPodcasts(final CommandInput commandInput) {
-        Host host = admin.getHost(commandInput.getUsername());
+    public static void showPodcasts(final CommandInput commandInput,
+                                    final ResponseWriter response) throws IOException {
+        Host host = Admin.getInstance().getHost(commandInput.getUsername());
         ArrayList<Podcast> result = host.showPodcasts();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", host.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
+        response.startUserResponse(commandInput);
 
-        ArrayNode arrayNode = objectMapper.createArrayNode();
+        JsonGenerator generator = response.getGenerator();
+        generator.writeFieldName(ResponseWriter.RESULT);
+        generator.writeStartArray();
 
         for (Podcast podcast : result) {
-            ObjectNode podcastNode = objectMapper.createObjectNode();
-            podcastNode.put("name", podcast.getName());
+            generator.writeStartObject();
+            response.writeString(ResponseWriter.NAME, podcast.getName());
 
-            ArrayNode episodesNode = objectMapper.createArrayNode();
+            generator.writeFieldName(ResponseWriter.EPISODES);
+            generator.writeStartArray();
 
             for (Episode episode : podcast.getEpisodes()) {
-                episodesNode.add(episode.getName());
+                generator.writeString(episode.getName());
             }
 
-            podcastNode.put("episodes", episodesNode);
-
-            arrayNode.add(podcastNode);
+            generator.writeEndArray();
+            generator.writeEndObject();
         }
 
-        objectNode.put("result", objectMapper.valueToTree(arrayNode));
-
-        return objectNode;
+        generator.writeEndArray();
+        response.endResponse();
     }
 
     /**
-     * Follow object node.
+     * Follow command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode follow(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void follow(final CommandInput commandInput,
+                              final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String message = null;
 
         if (user != null) {
             message = user.follow();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Status object node.
+     * Status command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode status(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void status(final CommandInput commandInput,
+                              final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         PlayerStats stats = null;
 
         if (user != null) {
             stats = user.getPlayerStats();
         }
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("stats", objectMapper.valueToTree(stats));
-
-        return objectNode;
+        response.startUserResponse(commandInput);
+        response.writeObject(ResponseWriter.STATS, stats);
+        response.endResponse();
     }
 
     /**
-     * Show liked songs object node.
+     * Show liked songs command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode showLikedSongs(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void showLikedSongs(final CommandInput commandInput,
+                                      final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         ArrayList<String> songs = user.showPreferredSongs();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        response.startUserResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, songs);
+        response.endResponse();
     }
 
     /**
      * Gets preferred genre.
      *
      * @param commandInput the command input
-     * @return the preferred genre
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getPreferredGenre(final CommandInput commandInput) {
-        User user = admin.getUser(commandInput.getUsername());
+    public static void getPreferredGenre(final CommandInput commandInput,
+                                         final ResponseWriter response) throws IOException {
+        User user = Admin.getInstance().getUser(commandInput.getUsername());
         String preferredGenre = user.getPreferredGenre();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(preferredGenre));
-
-        return objectNode;
+        response.startUserResponse(commandInput);
+        response.writeString(ResponseWriter.RESULT, preferredGenre);
+        response.endResponse();
     }
 
     /**
      * Gets top 5 songs.
      *
      * @param commandInput the command input
-     * @return the top 5 songs
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getTop5Songs(final CommandInput commandInput) {
-        List<String> songs = admin.getTop5Songs();
+    public static void getTop5Songs(final CommandInput commandInput,
+                                    final ResponseWriter response) throws IOException {
+        List<String> songs = Admin.getInstance().getTop5Songs();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        response.startResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, songs);
+        response.endResponse();
     }
 
     /**
      * Gets top 5 playlists.
      *
      * @param commandInput the command input
-     * @return the top 5 playlists
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getTop5Playlists(final CommandInput commandInput) {
-        List<String> playlists = admin.getTop5Playlists();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(playlists));
+    public static void getTop5Playlists(final CommandInput commandInput,
+                                        final ResponseWriter response) throws IOException {
+        List<String> playlists = Admin.getInstance().getTop5Playlists();
 
-        return objectNode;
+        response.startResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, playlists);
+        response.endResponse();
     }
 
     /**
      * Gets top 5 albums.
      *
      * @param commandInput the command input
-     * @return the top 5 albums
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getTop5Albums(final CommandInput commandInput) {
-        List<String> albums = admin.getTop5Albums();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(albums));
+    public static void getTop5Albums(final CommandInput commandInput,
+                                     final ResponseWriter response) throws IOException {
+        List<String> albums = Admin.getInstance().getTop5Albums();
 
-        return objectNode;
+        response.startResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, albums);
+        response.endResponse();
     }
 
     /**
      * Gets top 5 artists.
      *
      * @param commandInput the command input
-     * @return the top 5 artists
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getTop5Artists(final CommandInput commandInput) {
-        List<String> artists = admin.getTop5Artists();
+    public static void getTop5Artists(final CommandInput commandInput,
+                                      final ResponseWriter response) throws IOException {
+        List<String> artists = Admin.getInstance().getTop5Artists();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(artists));
-
-        return objectNode;
+        response.startResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, artists);
+        response.endResponse();
     }
 
     /**
      * Gets online users.
      *
      * @param commandInput the command input
-     * @return the online users
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getOnlineUsers(final CommandInput commandInput) {
-        List<String> onlineUsers = admin.getOnlineUsers();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(onlineUsers));
+    public static void getOnlineUsers(final CommandInput commandInput,
+                                      final ResponseWriter response) throws IOException {
+        List<String> onlineUsers = Admin.getInstance().getOnlineUsers();
 
-        return objectNode;
+        response.startResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, onlineUsers);
+        response.endResponse();
     }
 
     /**
-     * Add user object node.
+     * Add user command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addUser(final CommandInput commandInput) {
-        String message = admin.addUser(commandInput);
+    public static void addUser(final CommandInput commandInput,
+                               final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().addUser(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Add album object node.
+     * Add album command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addAlbum(final CommandInput commandInput) {
-        String message = admin.addAlbum(commandInput);
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
+    public static void addAlbum(final CommandInput commandInput,
+                                final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().addAlbum(commandInput);
 
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Add podcast object node.
+     * Add podcast command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addPodcast(final CommandInput commandInput) {
-        String message = admin.addPodcast(commandInput);
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
+    public static void addPodcast(final CommandInput commandInput,
+                                  final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().addPodcast(commandInput);
 
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Print current page object node.
+     * Print current page command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode printCurrentPage(final CommandInput commandInput) {
+    public static void printCurrentPage(final CommandInput commandInput,
+                                        final ResponseWriter response) throws IOException {
+        Admin admin = Admin.getInstance();
         User user = admin.getUser(commandInput.getUsername());
-        StringBuilder stringBuilder = admin.printCurrentPage(commandInput.getUsername());
-        String message = stringBuilder.toString();
+        String message = admin.printCurrentPage(commandInput.getUsername());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        // unlike the other responses, this one starts with the user
+        JsonGenerator generator = response.getGenerator();
+        generator.writeStartObject();
+        response.writeString(ResponseWriter.USER, commandInput.getUsername());
+        response.writeString(ResponseWriter.COMMAND, commandInput.getCommand());
+        generator.writeFieldName(ResponseWriter.TIMESTAMP);
+        generator.writeNumber(commandInput.getTimestamp());
+        response.writeString(ResponseWriter.MESSAGE, message);
+        response.endResponse();
     }
 
     /**
-     * Add event object node.
+     * Add event command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addEvent(final CommandInput commandInput) {
+    public static void addEvent(final CommandInput commandInput,
+                                final ResponseWriter response) throws IOException {
         String message = Artist.addEvent(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Add merch object node.
+     * Add merch command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addMerch(final CommandInput commandInput) {
+    public static void addMerch(final CommandInput commandInput,
+                                final ResponseWriter response) throws IOException {
         String message = Artist.addMerch(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
      * Gets all users.
      *
      * @param commandInput the command input
-     * @return the all users
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode getAllUsers(final CommandInput commandInput) {
-        List<String> users = admin.getAllUsers();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(users));
+    public static void getAllUsers(final CommandInput commandInput,
+                                   final ResponseWriter response) throws IOException {
+        List<String> users = Admin.getInstance().getAllUsers();
 
-        return objectNode;
+        response.startResponse(commandInput);
+        response.writeStrings(ResponseWriter.RESULT, users);
+        response.endResponse();
     }
 
     /**
-     * Delete user object node.
+     * Delete user command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode deleteUser(final CommandInput commandInput) {
-        String message = admin.deleteUser(commandInput);
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
+    public static void deleteUser(final CommandInput commandInput,
+                                  final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().deleteUser(commandInput);
 
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Add announcement object node.
+     * Add announcement command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode addAnnouncement(final CommandInput commandInput) {
+    public static void addAnnouncement(final CommandInput commandInput,
+                                       final ResponseWriter response) throws IOException {
         String message = Host.addAnnouncement(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Remove announcement object node.
+     * Remove announcement command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode removeAnnouncement(final CommandInput commandInput) {
+    public static void removeAnnouncement(final CommandInput commandInput,
+                                          final ResponseWriter response) throws IOException {
         String message = Host.removeAnnouncement(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Change page object node.
+     * Change page command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode changePage(final CommandInput commandInput) {
-        String message = admin.changePage(commandInput);
+    public static void changePage(final CommandInput commandInput,
+                                  final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().changePage(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Remove album object node.
+     * Remove album command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode removeAlbum(final CommandInput commandInput) {
-        String message = admin.removeAlbum(commandInput);
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
+    public static void removeAlbum(final CommandInput commandInput,
+                                   final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().removeAlbum(commandInput);
 
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Remove podcast object node.
+     * Remove podcast command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode removePodcast(final CommandInput commandInput) {
-        String message = admin.removePodcast(commandInput);
+    public static void removePodcast(final CommandInput commandInput,
+                                     final ResponseWriter response) throws IOException {
+        String message = Admin.getInstance().removePodcast(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 
     /**
-     * Remove event object node.
+     * Remove event command.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param response     the writer of the response
+     * @throws IOException in case of exceptions to writing
      */
-    public static ObjectNode removeEvent(final CommandInput commandInput) {
+    public static void removeEvent(final CommandInput commandInput,
+                                   final ResponseWriter response) throws IOException {
         String message = Artist.removeEvent(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        response.writeUserMessage(commandInput, message);
     }
 }
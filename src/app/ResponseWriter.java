@@ -0,0 +1,156 @@
+package app;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the responses of the commands straight to the output, one after the other, without
+ * building a tree for each of them first. The field names are encoded once, up front.
+ */
+public final class ResponseWriter {
+    public static final SerializableString COMMAND = new SerializedString("command");
+    public static final SerializableString USER = new SerializedString("user");
+    public static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    public static final SerializableString MESSAGE = new SerializedString("message");
+    public static final SerializableString RESULT = new SerializedString("result");
+    public static final SerializableString RESULTS = new SerializedString("results");
+    public static final SerializableString STATS = new SerializedString("stats");
+    public static final SerializableString NAME = new SerializedString("name");
+    public static final SerializableString SONGS = new SerializedString("songs");
+    public static final SerializableString EPISODES = new SerializedString("episodes");
+
+    private final JsonGenerator generator;
+    private final ObjectWriter objectWriter;
+
+    /**
+     * Instantiates a new Response writer.
+     *
+     * @param generator    the generator the responses are written to
+     * @param objectWriter the writer of the objects that are part of a response
+     */
+    public ResponseWriter(final JsonGenerator generator, final ObjectWriter objectWriter) {
+        this.generator = generator;
+        this.objectWriter = objectWriter;
+    }
+
+    /**
+     * Gets the generator, for the parts of a response that are written field by field.
+     *
+     * @return the generator
+     */
+    public JsonGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Starts the response of a command with its name and timestamp.
+     *
+     * @param commandInput the command input
+     * @throws IOException in case of exceptions to writing
+     */
+    public void startResponse(final CommandInput commandInput) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(COMMAND);
+        generator.writeString(commandInput.getCommand());
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeNumber(commandInput.getTimestamp());
+    }
+
+    /**
+     * Starts the response of a command given by a user with its name, the user and its
+     * timestamp.
+     *
+     * @param commandInput the command input
+     * @throws IOException in case of exceptions to writing
+     */
+    public void startUserResponse(final CommandInput commandInput) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(COMMAND);
+        generator.writeString(commandInput.getCommand());
+        generator.writeFieldName(USER);
+        generator.writeString(commandInput.getUsername());
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeNumber(commandInput.getTimestamp());
+    }
+
+    /**
+     * Ends the response that was started.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    public void endResponse() throws IOException {
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a response without content, for the commands that have no response.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeEmptyResponse() throws IOException {
+        generator.writeNull();
+    }
+
+    /**
+     * Writes the whole response of a command given by a user whose result is a message.
+     *
+     * @param commandInput the command input
+     * @param message      the message, possibly null
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeUserMessage(final CommandInput commandInput, final String message)
+            throws IOException {
+        startUserResponse(commandInput);
+        writeString(MESSAGE, message);
+        endResponse();
+    }
+
+    /**
+     * Writes a text field of the response.
+     *
+     * @param name  the name of the field
+     * @param value the text, possibly null
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeString(final SerializableString name, final String value)
+            throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    /**
+     * Writes a field of the response holding a list of texts.
+     *
+     * @param name   the name of the field
+     * @param values the texts
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeStrings(final SerializableString name, final List<String> values)
+            throws IOException {
+        generator.writeFieldName(name);
+        generator.writeStartArray();
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a field of the response holding an object, serialized with its getters.
+     *
+     * @param name  the name of the field
+     * @param value the object, possibly null
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeObject(final SerializableString name, final Object value)
+            throws IOException {
+        generator.writeFieldName(name);
+        objectWriter.writeValue(generator, value);
+    }
+}
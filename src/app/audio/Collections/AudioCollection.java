@@ -10,6 +10,8 @@ import lombok.Getter;
 @Getter
 public abstract class AudioCollection extends LibraryEntry {
     private final String owner;
+    // changes whenever tracks are added or removed, so players know their cached loop is stale
+    private int tracksVersion;
 
     /**
      * Instantiates a new Audio collection.
@@ -37,6 +39,13 @@ public abstract class AudioCollection extends LibraryEntry {
      */
     public abstract AudioFile getTrackByIndex(int index);
 
+    /**
+     * Marks the tracks of the collection as changed.
+     */
+    protected void tracksChanged() {
+        tracksVersion++;
+    }
+
     /**
      *
      * @param user the user
@@ -1,19 +1,19 @@
 package app.audio.Collections;
 
+import app.Admin;
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
 import app.utils.Enums;
+import app.utils.IndexedList;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
-
 /**
  * The type Playlist.
  */
 @Getter@Setter
 public final class Playlist extends AudioCollection {
-    private final ArrayList<Song> songs;
+    private final IndexedList<Song> songs;
     private Enums.Visibility visibility;
     private Integer followers;
     private int timestamp;
@@ -38,7 +38,7 @@ public final class Playlist extends AudioCollection {
      */
     public Playlist(final String name, final String owner, final int timestamp) {
         super(name, owner);
-        this.songs = new ArrayList<>();
+        this.songs = new IndexedList<>();
         this.visibility = Enums.Visibility.PUBLIC;
         this.followers = 0;
         this.timestamp = timestamp;
@@ -61,6 +61,8 @@ public final class Playlist extends AudioCollection {
      */
     public void addSong(final Song song) {
         songs.add(song);
+        tracksChanged();
+        Admin.getInstance().addPlaylistSong(this, song);
     }
 
     /**
@@ -69,7 +71,9 @@ public final class Playlist extends AudioCollection {
      * @param song the song
      */
     public void removeSong(final Song song) {
-        songs.remove(song);
+        if (songs.remove(song)) {
+            tracksChanged();
+        }
     }
 
     /**
@@ -79,6 +83,7 @@ public final class Playlist extends AudioCollection {
      */
     public void removeSong(final int index) {
         songs.remove(index);
+        tracksChanged();
     }
 
     /**
@@ -90,6 +95,7 @@ public final class Playlist extends AudioCollection {
         } else {
             visibility = Enums.Visibility.PUBLIC;
         }
+        Admin.getInstance().playlistsChanged();
     }
 
     /**
@@ -97,6 +103,7 @@ public final class Playlist extends AudioCollection {
      */
     public void increaseFollowers() {
         followers++;
+        Admin.getInstance().updatePlaylistFollowers(this);
     }
 
     /**
@@ -104,6 +111,7 @@ public final class Playlist extends AudioCollection {
      */
     public void decreaseFollowers() {
         followers--;
+        Admin.getInstance().updatePlaylistFollowers(this);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package app.audio.Files;
 
+import app.Admin;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -97,6 +98,7 @@ public final class Song extends AudioFile {
      */
     public void like() {
         likes++;
+        Admin.getInstance().updateSongLikes(this, 1);
     }
 
     /**
@@ -104,5 +106,6 @@ public final class Song extends AudioFile {
      */
     public void dislike() {
         likes--;
+        Admin.getInstance().updateSongLikes(this, -1);
     }
 }
@@ -1,5 +1,6 @@
 package app.audio;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,6 +16,9 @@ public abstract class LibraryEntry {
     }
 
     private final String name;
+    // the players on the entry, as of when they were last brought up to date
+    @Setter(AccessLevel.NONE)
+    private int listeners;
 
     /**
      * Instantiates a new Library entry.
@@ -25,6 +29,20 @@ public abstract class LibraryEntry {
         this.name = name;
     }
 
+    /**
+     * Counts a player that got on the entry.
+     */
+    public void addListener() {
+        listeners++;
+    }
+
+    /**
+     * Stops counting a player that left the entry.
+     */
+    public void removeListener() {
+        listeners--;
+    }
+
     /**
      * Matches name boolean.
      *
@@ -0,0 +1,206 @@
+package app.player;
+
+import fileio.AtomicFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the podcast bookmarks of the users in a file, so they are found again by the next run.
+ * Every bookmark made and every user deleted is added at the end of the file; when most of the
+ * records are bookmarks that were replaced since, the file is written again with only the
+ * current ones.
+ */
+public final class BookmarkStore implements Closeable {
+    private static final int MAGIC = 0x4757424B;
+    private static final byte BOOKMARK = 1;
+    private static final byte FORGET = 2;
+    // below this many records the file is never written again
+    private static final int MIN_COMPACTED_RECORDS = 1024;
+
+    private final Path path;
+    private final Map<String, Map<String, PodcastBookmark>> bookmarks = new LinkedHashMap<>();
+    private int live;
+    private int records;
+    private DataOutputStream out;
+
+    private BookmarkStore(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Opens the store kept in a file, reading the bookmarks it has. A file that is not a store
+     * or whose last record was cut short is written again with the bookmarks that could be read.
+     *
+     * @param path the file, which is created if it doesn't exist
+     * @return the store
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static BookmarkStore open(final Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        BookmarkStore store = new BookmarkStore(path);
+        boolean intact = !Files.exists(path) || store.readRecords();
+        if (!intact || store.records > MIN_COMPACTED_RECORDS && store.records > 2 * store.live) {
+            store.compact();
+        } else {
+            store.openForAppending();
+        }
+        return store;
+    }
+
+    /**
+     * Gets the bookmarks of a user.
+     *
+     * @param username the username
+     * @return the bookmarks by podcast name, in a map the store does not keep
+     */
+    public Map<String, PodcastBookmark> bookmarksOf(final String username) {
+        Map<String, PodcastBookmark> userBookmarks = bookmarks.get(username);
+        return userBookmarks != null ? new HashMap<>(userBookmarks) : new HashMap<>();
+    }
+
+    /**
+     * Saves a bookmark of a user, replacing the one for the same podcast.
+     *
+     * @param username the username
+     * @param bookmark the bookmark
+     */
+    public void save(final String username, final PodcastBookmark bookmark) {
+        if (bookmarks.computeIfAbsent(username, key -> new LinkedHashMap<>())
+                .put(bookmark.getName(), bookmark) == null) {
+            live++;
+        }
+        try {
+            out.writeByte(BOOKMARK);
+            out.writeUTF(username);
+            writeBookmark(out, bookmark);
+            out.flush();
+            records++;
+            if (records > MIN_COMPACTED_RECORDS && records > 2 * live) {
+                out.close();
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Forgets the bookmarks of a deleted user.
+     *
+     * @param username the username
+     */
+    public void forget(final String username) {
+        Map<String, PodcastBookmark> userBookmarks = bookmarks.remove(username);
+        if (userBookmarks == null) {
+            return;
+        }
+        live -= userBookmarks.size();
+        try {
+            out.writeByte(FORGET);
+            out.writeUTF(username);
+            out.flush();
+            records++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Reads the records of the file.
+     *
+     * @return whether the whole file could be read
+     */
+    private boolean readRecords() throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                return false;
+            }
+            while (true) {
+                int kind = in.read();
+                if (kind == -1) {
+                    return true;
+                }
+                String username = in.readUTF();
+                if (kind == BOOKMARK) {
+                    PodcastBookmark bookmark = new PodcastBookmark(in.readUTF(), in.readInt(),
+                            in.readInt());
+                    if (bookmarks.computeIfAbsent(username, key -> new LinkedHashMap<>())
+                            .put(bookmark.getName(), bookmark) == null) {
+                        live++;
+                    }
+                } else if (kind == FORGET) {
+                    Map<String, PodcastBookmark> userBookmarks = bookmarks.remove(username);
+                    if (userBookmarks != null) {
+                        live -= userBookmarks.size();
+                    }
+                } else {
+                    return false;
+                }
+                records++;
+            }
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the current bookmarks to a new file, moves it over the old one and goes on
+     * appending to it.
+     */
+    private void compact() throws IOException {
+        AtomicFiles.replace(path, temporary -> {
+            try (DataOutputStream compacted = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporary)))) {
+                compacted.writeInt(MAGIC);
+                for (Map.Entry<String, Map<String, PodcastBookmark>> user
+                        : bookmarks.entrySet()) {
+                    for (PodcastBookmark bookmark : user.getValue().values()) {
+                        compacted.writeByte(BOOKMARK);
+                        compacted.writeUTF(user.getKey());
+                        writeBookmark(compacted, bookmark);
+                    }
+                }
+            }
+        });
+        records = live;
+        openForAppending();
+    }
+
+    private void openForAppending() throws IOException {
+        boolean created = !Files.exists(path);
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (created) {
+            out.writeInt(MAGIC);
+            out.flush();
+        }
+    }
+
+    private static void writeBookmark(final DataOutputStream stream,
+                                      final PodcastBookmark bookmark) throws IOException {
+        stream.writeUTF(bookmark.getName());
+        stream.writeInt(bookmark.getId());
+        stream.writeInt(bookmark.getTimestamp());
+    }
+}
@@ -4,10 +4,11 @@ import app.audio.Collections.AudioCollection;
 import app.audio.Files.AudioFile;
 import app.audio.LibraryEntry;
 import app.utils.Enums;
+import lombok.AccessLevel;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * The type Player.
@@ -20,7 +21,13 @@ public final class Player {
     private PlayerSource source;
     private String type;
     private final int skipTime = 90;
-    private ArrayList<PodcastBookmark> bookmarks = new ArrayList<>();
+    // the last position reached in every podcast left, by podcast name
+    private final Map<String, PodcastBookmark> bookmarks = new HashMap<>();
+    // where the bookmarks are also saved, when they are kept between runs
+    @Getter(AccessLevel.NONE)
+    private BookmarkStore bookmarkStore;
+    @Getter(AccessLevel.NONE)
+    private String owner;
 
     /**
      * Instantiates a new Player.
@@ -40,6 +47,9 @@ public final class Player {
 
         repeatMode = Enums.RepeatMode.NO_REPEAT;
         paused = true;
+        if (source != null) {
+            source.detach();
+        }
         source = null;
         shuffle = false;
     }
@@ -50,22 +60,37 @@ public final class Player {
                     new PodcastBookmark(source.getAudioCollection().getName(),
                                         source.getIndex(),
                                         source.getDuration());
-            bookmarks.removeIf(bookmark -> bookmark.getName().equals(currentBookmark.getName()));
-            bookmarks.add(currentBookmark);
+            bookmarks.put(currentBookmark.getName(), currentBookmark);
+            if (bookmarkStore != null) {
+                bookmarkStore.save(owner, currentBookmark);
+            }
         }
     }
 
+    /**
+     * Resumes the podcasts from the bookmarks a store has for the owner of the player and
+     * saves the bookmarks made from now on in the store.
+     *
+     * @param store    the store
+     * @param username the owner of the player
+     */
+    public void useBookmarkStore(final BookmarkStore store, final String username) {
+        bookmarkStore = store;
+        owner = username;
+        bookmarks.putAll(store.bookmarksOf(username));
+    }
+
     /**
      * Create source player source.
      *
      * @param type      the type
      * @param entry     the entry
-     * @param bookmarks the bookmarks
+     * @param bookmarks the bookmarks by podcast name
      * @return the player source
      */
     public static PlayerSource createSource(final String type,
                                             final LibraryEntry entry,
-                                            final List<PodcastBookmark> bookmarks) {
+                                            final Map<String, PodcastBookmark> bookmarks) {
         if ("song".equals(type)) {
             return new PlayerSource(Enums.PlayerSourceType.LIBRARY, (AudioFile) entry);
         } else if ("playlist".equals(type)) {
@@ -80,11 +105,10 @@ public final class Player {
     }
 
     private static PlayerSource createPodcastSource(final AudioCollection collection,
-                                                    final List<PodcastBookmark> bookmarks) {
-        for (PodcastBookmark bookmark : bookmarks) {
-            if (bookmark.getName().equals(collection.getName())) {
-                return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
-            }
+                                                    final Map<String, PodcastBookmark> bookmarks) {
+        PodcastBookmark bookmark = bookmarks.get(collection.getName());
+        if (bookmark != null) {
+            return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
         }
         return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection);
     }
@@ -100,8 +124,14 @@ public final class Player {
             bookmarkPodcast();
         }
 
+        if (this.source != null) {
+            this.source.detach();
+        }
         this.type = sourceType;
         this.source = createSource(sourceType, entry, bookmarks);
+        if (this.source != null) {
+            this.source.attach();
+        }
         this.repeatMode = Enums.RepeatMode.NO_REPEAT;
         this.shuffle = false;
         this.paused = true;
@@ -174,6 +204,8 @@ public final class Player {
                 if (paused) {
                     break;
                 }
+                // the rest is played from the start of a track, so repeated loops are skipped
+                elapsedTime = source.fastForward(elapsedTime, repeatMode, shuffle);
             }
             if (!paused) {
                 source.skip(-elapsedTime);
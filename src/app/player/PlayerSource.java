@@ -5,11 +5,6 @@ import app.audio.Files.AudioFile;
 import app.utils.Enums;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
-
 /**
  * The type Player source.
  */
@@ -24,7 +19,13 @@ public class PlayerSource {
     private int index;
     private int indexShuffled;
     private int remainedDuration;
-    private final List<Integer> indices = new ArrayList<>();
+    private ShuffleOrder shuffleOrder = ShuffleOrder.EMPTY;
+    // prefix sums of the durations in the order of a repeat all loop, built when first needed
+    private long[] loopOffsets;
+    private boolean loopShuffled;
+    private int loopVersion;
+    // whether the source is in a player, which then counts as a listener of what it plays
+    private boolean attached;
 
     /**
      * Instantiates a new Player source.
@@ -79,6 +80,17 @@ public class PlayerSource {
         return remainedDuration;
     }
 
+    /**
+     * Checks whether more time remains than the track lasts, which happens when a podcast is
+     * resumed from the bookmark of another podcast with the same name and shorter episodes.
+     * Where such a source ends up then depends on how the time passing is split.
+     *
+     * @return whether the remaining time is longer than the track
+     */
+    public boolean isPastTrackEnd() {
+        return audioFile != null && remainedDuration > audioFile.getDuration();
+    }
+
     /**
      * Sets next audio file.
      *
@@ -104,13 +116,13 @@ public class PlayerSource {
                 remainedDuration = audioFile.getDuration();
             } else if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
                 if (shuffle) {
-                    if (indexShuffled == indices.size() - 1) {
+                    if (indexShuffled == shuffleOrder.size() - 1) {
                         remainedDuration = 0;
                         isPaused = true;
                     } else {
                         indexShuffled++;
 
-                        index = indices.get(indexShuffled);
+                        index = shuffleOrder.trackAt(indexShuffled);
                         updateAudioFile();
                         remainedDuration = audioFile.getDuration();
                     }
@@ -126,8 +138,8 @@ public class PlayerSource {
                 }
             } else if (repeatMode == Enums.RepeatMode.REPEAT_ALL) {
                 if (shuffle) {
-                    indexShuffled = (indexShuffled + 1) % indices.size();
-                    index = indices.get(indexShuffled);
+                    indexShuffled = (indexShuffled + 1) % shuffleOrder.size();
+                    index = shuffleOrder.trackAt(indexShuffled);
                 } else {
                     index = (index + 1) % audioCollection.getNumberOfTracks();
                 }
@@ -139,6 +151,87 @@ public class PlayerSource {
         return isPaused;
     }
 
+    /**
+     * Plays the time left in a repeating mode, starting from the beginning of the current
+     * track, and stops on the track setNextAudioFile would reach. Whole loops are skipped at
+     * once and the track is found with a binary search over the durations of the loop.
+     *
+     * @param time       the time to play
+     * @param repeatMode the repeat mode
+     * @param shuffle    the shuffle
+     * @return the time left to play from the beginning of the reached track, which is less
+     * than its duration, or the given time if the mode does not repeat
+     */
+    public int fastForward(final int time, final Enums.RepeatMode repeatMode,
+                           final boolean shuffle) {
+        if (repeatMode == Enums.RepeatMode.REPEAT_INFINITE
+                || repeatMode == Enums.RepeatMode.REPEAT_CURRENT_SONG) {
+            int duration = audioFile.getDuration();
+            return duration > 0 ? time % duration : time;
+        }
+
+        if (repeatMode != Enums.RepeatMode.REPEAT_ALL || type == Enums.PlayerSourceType.LIBRARY) {
+            return time;
+        }
+
+        int size = audioCollection.getNumberOfTracks();
+        if (shuffle && shuffleOrder.size() != size) {
+            return time;
+        }
+
+        long[] offsets = loopOffsets(shuffle);
+        long loopDuration = offsets[size];
+        if (loopDuration == 0) {
+            return time;
+        }
+
+        int position = shuffle ? indexShuffled : index;
+        long target = offsets[position] + time % loopDuration;
+        if (target >= loopDuration) {
+            target -= loopDuration;
+        }
+
+        // the last track starting at or before the target; empty tracks are played through
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high + 1) / 2;
+            if (offsets[middle] <= target) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        if (shuffle) {
+            indexShuffled = low;
+            index = shuffleOrder.trackAt(low);
+        } else {
+            index = low;
+        }
+        updateAudioFile();
+        remainedDuration = audioFile.getDuration();
+        return (int) (target - offsets[low]);
+    }
+
+    private long[] loopOffsets(final boolean shuffle) {
+        int size = audioCollection.getNumberOfTracks();
+        if (loopOffsets != null && loopShuffled == shuffle && loopOffsets.length == size + 1
+                && loopVersion == audioCollection.getTracksVersion()) {
+            return loopOffsets;
+        }
+
+        loopOffsets = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            int track = shuffle ? shuffleOrder.trackAt(i) : i;
+            loopOffsets[i + 1] = loopOffsets[i]
+                    + audioCollection.getTrackByIndex(track).getDuration();
+        }
+        loopShuffled = shuffle;
+        loopVersion = audioCollection.getTracksVersion();
+        return loopOffsets;
+    }
+
     /**
      * Sets prev audio file.
      *
@@ -155,7 +248,7 @@ public class PlayerSource {
                     if (indexShuffled > 0) {
                         indexShuffled--;
                     }
-                    index = indices.get(indexShuffled);
+                    index = shuffleOrder.trackAt(indexShuffled);
                     updateAudioFile();
                     remainedDuration = audioFile.getDuration();
                 } else {
@@ -175,23 +268,17 @@ public class PlayerSource {
      * @param seed the seed
      */
     public void generateShuffleOrder(final Integer seed) {
-        indices.clear();
-        Random random = new Random(seed);
-        for (int i = 0; i < audioCollection.getNumberOfTracks(); i++) {
-            indices.add(i);
-        }
-        Collections.shuffle(indices, random);
+        shuffleOrder = ShuffleOrder.of(seed, audioCollection.getNumberOfTracks());
+        loopOffsets = null;
     }
 
     /**
      * Update shuffle index.
      */
     public void updateShuffleIndex() {
-        for (int i = 0; i < indices.size(); i++) {
-            if (indices.get(i) == index) {
-                indexShuffled = i;
-                break;
-            }
+        int position = shuffleOrder.positionOf(index);
+        if (position != -1) {
+            indexShuffled = position;
         }
     }
 
@@ -211,6 +298,38 @@ public class PlayerSource {
         }
     }
 
+    /**
+     * Counts the player the source is put in as a listener of the collection and the track.
+     */
+    public void attach() {
+        if (attached) {
+            return;
+        }
+        attached = true;
+        if (audioCollection != null) {
+            audioCollection.addListener();
+        }
+        if (audioFile != null) {
+            audioFile.addListener();
+        }
+    }
+
+    /**
+     * Stops counting the player the source is taken out of as a listener.
+     */
+    public void detach() {
+        if (!attached) {
+            return;
+        }
+        attached = false;
+        if (audioCollection != null) {
+            audioCollection.removeListener();
+        }
+        if (audioFile != null) {
+            audioFile.removeListener();
+        }
+    }
+
     private void updateAudioFile() {
         setAudioFile(audioCollection.getTrackByIndex(index));
     }
@@ -221,6 +340,14 @@ public class PlayerSource {
      * @param audioFile the audio file
      */
     public void setAudioFile(final AudioFile audioFile) {
+        if (attached && this.audioFile != audioFile) {
+            if (this.audioFile != null) {
+                this.audioFile.removeListener();
+            }
+            if (audioFile != null) {
+                audioFile.addListener();
+            }
+        }
         this.audioFile = audioFile;
     }
 
@@ -0,0 +1,99 @@
+package app.player;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The order in which a shuffled collection is played, along with the position of every track
+ * in that order. The order is the one Collections.shuffle gives a list of the track indices
+ * with a Random of the same seed. Orders never change once made, so each thread keeps the last
+ * ones it made and gives the same order to every player shuffling a collection of the same size
+ * with the same seed.
+ */
+public final class ShuffleOrder {
+    /**
+     * The order of a source that was never shuffled.
+     */
+    public static final ShuffleOrder EMPTY = new ShuffleOrder(new int[0]);
+
+    private static final int CACHE_SIZE = 256;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final ThreadLocal<Map<Long, ShuffleOrder>> CACHE =
+            ThreadLocal.withInitial(() -> new LinkedHashMap<>(CACHE_SIZE, LOAD_FACTOR, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Long, ShuffleOrder> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private final int[] tracks;
+    private final int[] positions;
+
+    private ShuffleOrder(final int[] tracks) {
+        this.tracks = tracks;
+        this.positions = new int[tracks.length];
+        for (int position = 0; position < tracks.length; position++) {
+            positions[tracks[position]] = position;
+        }
+    }
+
+    /**
+     * Gets the order of a collection shuffled with a seed.
+     *
+     * @param seed the seed
+     * @param size the number of tracks of the collection
+     * @return the order
+     */
+    public static ShuffleOrder of(final int seed, final int size) {
+        return CACHE.get().computeIfAbsent(((long) seed << Integer.SIZE) | size,
+                key -> new ShuffleOrder(shuffle(seed, size)));
+    }
+
+    /**
+     * Shuffles the indices the way Collections.shuffle shuffles a list allowing random access.
+     */
+    private static int[] shuffle(final int seed, final int size) {
+        int[] tracks = new int[size];
+        for (int i = 0; i < size; i++) {
+            tracks[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = size; i > 1; i--) {
+            int other = random.nextInt(i);
+            int track = tracks[i - 1];
+            tracks[i - 1] = tracks[other];
+            tracks[other] = track;
+        }
+        return tracks;
+    }
+
+    /**
+     * Gets the number of tracks.
+     *
+     * @return the number of tracks
+     */
+    public int size() {
+        return tracks.length;
+    }
+
+    /**
+     * Gets the track played at a position.
+     *
+     * @param position the position
+     * @return the index of the track in the collection
+     */
+    public int trackAt(final int position) {
+        return tracks[position];
+    }
+
+    /**
+     * Gets the position at which a track is played.
+     *
+     * @param track the index of the track in the collection
+     * @return the position, or -1 if the order has no such track
+     */
+    public int positionOf(final int track) {
+        return track >= 0 && track < positions.length ? positions[track] : -1;
+    }
+}
@@ -17,109 +17,27 @@ public final class FilterUtils {
     /**
      * Filter by name list.
      *
-     * @param entries the entries
-     * @param name    the name
-     * @return the list
+     * @param index the name index of the entries
+     * @param name  the name prefix
+     * @param limit the maximum number of entries
+     * @return the list, in catalog order
      */
-    public static List<LibraryEntry> filterLibraryByName(final List<LibraryEntry> entries,
-                                                         final String name) {
-        List<LibraryEntry> result = new ArrayList<>();
-        for (LibraryEntry entry : entries) {
-            if (entry.matchesName(name)) {
-                result.add(entry);
-            }
-        }
-        return result;
+    public static List<LibraryEntry> filterLibraryByName(
+            final PrefixIndex<? extends LibraryEntry> index, final String name, final int limit) {
+        return new ArrayList<>(index.startingWith(name, limit));
     }
 
     /**
-     * Filter a list of users by name.
+     * Filter users by name, using the index of their usernames.
      *
-     * @param entries the list of user entries to filter
-     * @param name    the name to match
-     * @return the list of users that match the specified name
-     */
-    public static List<UserEntry> filterUsersByName(final List<UserEntry> entries,
-                                                         final String name) {
-        List<UserEntry> result = new ArrayList<>();
-        for (UserEntry entry : entries) {
-            if (entry.matchesName(name)) {
-                result.add(entry);
-            }
-        }
-        return result;
-    }
-
-    /**
-     * Filter by album list.
-     *
-     * @param entries the entries
-     * @param album   the album
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByAlbum(final List<LibraryEntry> entries,
-                                                   final String album) {
-        return filter(entries, entry -> entry.matchesAlbum(album));
-    }
-
-    /**
-     * Filter by tags list.
-     *
-     * @param entries the entries
-     * @param tags    the tags
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByTags(final List<LibraryEntry> entries,
-                                                  final ArrayList<String> tags) {
-        return filter(entries, entry -> entry.matchesTags(tags));
-    }
-
-    /**
-     * Filter by lyrics list.
-     *
-     * @param entries the entries
-     * @param lyrics  the lyrics
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByLyrics(final List<LibraryEntry> entries,
-                                                    final String lyrics) {
-        return filter(entries, entry -> entry.matchesLyrics(lyrics));
-    }
-
-    /**
-     * Filter by genre list.
-     *
-     * @param entries the entries
-     * @param genre   the genre
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByGenre(final List<LibraryEntry> entries,
-                                                   final String genre) {
-        return filter(entries, entry -> entry.matchesGenre(genre));
-    }
-
-    /**
-     * Filter by artist list.
-     *
-     * @param entries the entries
-     * @param artist  the artist
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByArtist(final List<LibraryEntry> entries,
-                                                    final String artist) {
-        return filter(entries, entry -> entry.matchesArtist(artist));
-    }
-
-    /**
-     * Filter by release year list.
-     *
-     * @param entries     the entries
-     * @param releaseYear the release year
-     * @return the list
+     * @param index the username index of the users
+     * @param name  the name prefix to match
+     * @param limit the maximum number of users
+     * @return the list of users that match the specified name, in catalog order
      */
-    public static List<LibraryEntry> filterByReleaseYear(final List<LibraryEntry> entries,
-                                                         final String releaseYear) {
-        return filter(entries, entry -> entry.matchesReleaseYear(releaseYear));
+    public static List<UserEntry> filterUsersByName(
+            final PrefixIndex<? extends UserEntry> index, final String name, final int limit) {
+        return new ArrayList<>(index.startingWith(name, limit));
     }
 
     /**
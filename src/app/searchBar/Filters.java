@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.TreeSet;
 
 @Data@Getter@Setter
 public final class Filters {
@@ -103,5 +104,41 @@ public final class Filters {
         this.followers = filters.getFollowers();
     }
 
+    private Filters() {
+    }
+
+    /**
+     * Copies the filters a search for the given type reads, leaving out the others, so
+     * searches that differ only in what they ignore are equal. The tags are matched
+     * regardless of case and order, so they are kept in lower case, sorted and once each.
+     *
+     * @param type the type of the searched entries
+     * @return the copy
+     */
+    public Filters relevantTo(final String type) {
+        Filters copy = new Filters();
+        copy.name = name;
+        if ("song".equals(type)) {
+            copy.album = album;
+            if (tags != null) {
+                TreeSet<String> foldedTags = new TreeSet<>();
+                for (String tag : tags) {
+                    foldedTags.add(tag.toLowerCase());
+                }
+                copy.tags = new ArrayList<>(foldedTags);
+            }
+            copy.lyrics = lyrics;
+            copy.genre = genre;
+            copy.releaseYear = releaseYear;
+            copy.artist = artist;
+        } else {
+            copy.owner = owner;
+            if ("playlist".equals(type)) {
+                copy.followers = followers;
+            }
+        }
+        return copy;
+    }
+
 
 }
@@ -0,0 +1,351 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over the songs of the library. Every searchable field keeps a posting list
+ * with the songs having each value, in the order in which the songs were added, so a search
+ * walks the shortest posting list and checks the remaining filters only for its songs. Name
+ * prefixes are looked up in the sorted names and, if enabled, lyrics in a trigram index.
+ */
+public final class LibraryIndex {
+    private final Set<Song> songs = new LinkedHashSet<>();
+    private final PrefixIndex<Song> names = new PrefixIndex<>(Song::getName);
+    private final Map<Song, Long> sequence = new HashMap<>();
+    private final Map<String, Set<Song>> albums = new HashMap<>();
+    private final Map<String, Set<Song>> tags = new HashMap<>();
+    private final Map<String, Set<Song>> genres = new HashMap<>();
+    private final Map<String, Set<Song>> artists = new HashMap<>();
+    private final TreeMap<Integer, Set<Song>> releaseYears = new TreeMap<>();
+    private final LyricsIndex lyrics;
+    private long added = 0;
+
+    /**
+     * Instantiates a new Library index.
+     *
+     * @param indexLyrics whether the lyrics are indexed too
+     */
+    public LibraryIndex(final boolean indexLyrics) {
+        lyrics = indexLyrics ? new LyricsIndex() : null;
+    }
+
+    /**
+     * Gets the lyrics index.
+     *
+     * @return the lyrics index, or null if the lyrics are not indexed
+     */
+    public LyricsIndex getLyricsIndex() {
+        return lyrics;
+    }
+
+    /**
+     * Adds a song after all the songs already in the index.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        if (!songs.add(song)) {
+            return;
+        }
+
+        sequence.put(song, added++);
+        names.add(song);
+        addPosting(albums, fold(song.getAlbum()), song);
+        addPosting(genres, fold(song.getGenre()), song);
+        addPosting(artists, fold(song.getArtist()), song);
+        if (song.getTags() != null) {
+            for (String tag : song.getTags()) {
+                addPosting(tags, tag.toLowerCase(), song);
+            }
+        }
+        if (song.getReleaseYear() != null) {
+            releaseYears.computeIfAbsent(song.getReleaseYear(), year -> new LinkedHashSet<>())
+                    .add(song);
+        }
+        if (lyrics != null) {
+            lyrics.add(song);
+        }
+    }
+
+    /**
+     * Removes a song from the index.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        if (!songs.remove(song)) {
+            return;
+        }
+
+        sequence.remove(song);
+        names.remove(song);
+        removePosting(albums, fold(song.getAlbum()), song);
+        removePosting(genres, fold(song.getGenre()), song);
+        removePosting(artists, fold(song.getArtist()), song);
+        if (song.getTags() != null) {
+            for (String tag : song.getTags()) {
+                removePosting(tags, tag.toLowerCase(), song);
+            }
+        }
+        if (song.getReleaseYear() != null) {
+            removePosting(releaseYears, song.getReleaseYear(), song);
+        }
+        if (lyrics != null) {
+            lyrics.remove(song);
+        }
+    }
+
+    /**
+     * Removes all the songs.
+     */
+    public void clear() {
+        songs.clear();
+        sequence.clear();
+        names.clear();
+        albums.clear();
+        tags.clear();
+        genres.clear();
+        artists.clear();
+        releaseYears.clear();
+        if (lyrics != null) {
+            lyrics.clear();
+        }
+        added = 0;
+    }
+
+    /**
+     * Searches the songs matching all the filters, in the order of the library.
+     *
+     * @param filters the filters
+     * @param limit   the maximum number of results
+     * @return the matching songs
+     */
+    public List<LibraryEntry> search(final Filters filters, final int limit) {
+        List<Set<Song>> postings = new ArrayList<>();
+        List<Predicate<Song>> checks = new ArrayList<>();
+        Collection<Set<Song>> yearRange = null;
+
+        String name = filters.getName();
+        if (name != null) {
+            String prefix = name.toLowerCase();
+            checks.add(song -> names.hasPrefix(song, prefix));
+        }
+
+        if (filters.getAlbum() != null) {
+            postings.add(albums.get(fold(filters.getAlbum())));
+        }
+
+        if (filters.getTags() != null) {
+            for (String tag : filters.getTags()) {
+                postings.add(tags.get(tag.toLowerCase()));
+            }
+        }
+
+        if (filters.getLyrics() != null) {
+            List<Set<Song>> grams = lyrics == null ? null : lyrics.postingsFor(filters.getLyrics());
+            if (grams != null) {
+                postings.addAll(grams);
+            }
+            // the trigrams only narrow down the candidates, the lyrics are still checked
+            checks.add(song -> song.matchesLyrics(filters.getLyrics()));
+        }
+
+        if (filters.getGenre() != null) {
+            postings.add(genres.get(fold(filters.getGenre())));
+        }
+
+        if (filters.getReleaseYear() != null) {
+            String query = filters.getReleaseYear();
+            if (query.startsWith("<") || query.startsWith(">")) {
+                int year = Integer.parseInt(query.substring(1));
+                NavigableMap<Integer, Set<Song>> range = query.startsWith("<")
+                        ? releaseYears.headMap(year, false)
+                        : releaseYears.tailMap(year, false);
+                yearRange = range.values();
+                checks.add(song -> song.matchesReleaseYear(query));
+            } else {
+                postings.add(releaseYears.get(Integer.parseInt(query)));
+            }
+        }
+
+        if (filters.getArtist() != null) {
+            postings.add(artists.get(fold(filters.getArtist())));
+        }
+
+        List<LibraryEntry> results = new ArrayList<>();
+        // a value nobody has means no song can match all the filters
+        if (postings.contains(null)) {
+            return results;
+        }
+
+        postings.sort(Comparator.comparingInt(Set::size));
+        // walk the shortest posting list, or the release year range or the names starting with
+        // the prefix if they have fewer songs
+        Collection<Song> candidates = postings.isEmpty() ? songs : postings.get(0);
+        boolean walksPosting = !postings.isEmpty();
+        if (name != null && (!walksPosting
+                || names.count(name, candidates.size()) < candidates.size())) {
+            candidates = names.candidates(name, limit);
+            walksPosting = false;
+        }
+        Iterator<Song> walk = candidates.iterator();
+        if (yearRange != null && countSongs(yearRange) < candidates.size()) {
+            walk = mergeInOrder(yearRange);
+            walksPosting = false;
+        }
+        if (walksPosting) {
+            postings.remove(0);
+        }
+
+        while (walk.hasNext()) {
+            Song song = walk.next();
+            if (matchesAll(song, postings, checks)) {
+                results.add(song);
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private static boolean matchesAll(final Song song, final List<Set<Song>> postings,
+                                      final List<Predicate<Song>> checks) {
+        for (Set<Song> posting : postings) {
+            if (!posting.contains(song)) {
+                return false;
+            }
+        }
+        for (Predicate<Song> check : checks) {
+            if (!check.test(song)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countSongs(final Collection<Set<Song>> postings) {
+        int count = 0;
+        for (Set<Song> posting : postings) {
+            count += posting.size();
+        }
+        return count;
+    }
+
+    /**
+     * Walks the songs of several posting lists in the order of the library, taking the first
+     * song left in any of the lists at every step, so a search stopping at its first results
+     * only looks at the songs before them.
+     */
+    private Iterator<Song> mergeInOrder(final Collection<Set<Song>> postings) {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                Comparator.comparingLong((Cursor cursor) -> cursor.position));
+        for (Set<Song> posting : postings) {
+            Cursor cursor = new Cursor(posting.iterator());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public Song next() {
+                Cursor cursor = cursors.remove();
+                Song song = cursor.song;
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                return song;
+            }
+        };
+    }
+
+    private static <K> void addPosting(final Map<K, Set<Song>> index, final K key,
+                                       final Song song) {
+        if (key != null) {
+            index.computeIfAbsent(key, value -> new LinkedHashSet<>()).add(song);
+        }
+    }
+
+    private static <K> void removePosting(final Map<K, Set<Song>> index, final K key,
+                                          final Song song) {
+        if (key == null) {
+            return;
+        }
+
+        Set<Song> posting = index.get(key);
+        if (posting != null) {
+            posting.remove(song);
+            if (posting.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Folds every character the same way String.equalsIgnoreCase compares them, so two
+     * strings have the same key exactly when they are equal ignoring case.
+     *
+     * @param value the value
+     * @return the key of the value
+     */
+    private static String fold(final String value) {
+        if (value == null) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            key.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return key.toString();
+    }
+
+    /**
+     * The next song of a posting list being merged, with its position in the library.
+     */
+    private final class Cursor {
+        private final Iterator<Song> songsLeft;
+        private Song song;
+        private long position;
+
+        Cursor(final Iterator<Song> songsLeft) {
+            this.songsLeft = songsLeft;
+        }
+
+        /**
+         * Moves to the next song of the list.
+         *
+         * @return whether the list had another song
+         */
+        boolean advance() {
+            if (!songsLeft.hasNext()) {
+                return false;
+            }
+            song = songsLeft.next();
+            position = sequence.get(song);
+            return true;
+        }
+    }
+}
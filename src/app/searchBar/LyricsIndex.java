@@ -0,0 +1,127 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over the lower-cased lyrics of the songs. A song whose lyrics contain the
+ * searched text contains every trigram of it, so the posting lists of the query's trigrams
+ * narrow down the candidates, which still have to be checked with Song.matchesLyrics.
+ */
+public final class LyricsIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int CHAR_BITS = 16;
+    // rough sizes of a posting entry and of a trigram with its empty posting list, in bytes
+    private static final int ENTRY_BYTES = 40;
+    private static final int GRAM_BYTES = 150;
+
+    private final Map<Long, Set<Song>> postings = new HashMap<>();
+    private long entries = 0;
+    private long buildTime = 0;
+
+    /**
+     * Indexes the lyrics of a song.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        if (song.getLyrics() == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        for (long gram : trigrams(song.getLyrics().toLowerCase())) {
+            if (postings.computeIfAbsent(gram, key -> new LinkedHashSet<>()).add(song)) {
+                entries++;
+            }
+        }
+        buildTime += System.nanoTime() - start;
+    }
+
+    /**
+     * Removes the lyrics of a song from the index.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        if (song.getLyrics() == null) {
+            return;
+        }
+
+        for (long gram : trigrams(song.getLyrics().toLowerCase())) {
+            Set<Song> posting = postings.get(gram);
+            if (posting != null && posting.remove(song)) {
+                entries--;
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the songs and resets the statistics.
+     */
+    public void clear() {
+        postings.clear();
+        entries = 0;
+        buildTime = 0;
+    }
+
+    /**
+     * Gets the posting lists every song matching the lyrics filter is part of.
+     *
+     * @param lyrics the lyrics filter
+     * @return the posting lists, or null if the filter is too short to be looked up
+     */
+    public List<Set<Song>> postingsFor(final String lyrics) {
+        String query = lyrics.toLowerCase();
+        if (query.length() < GRAM_LENGTH) {
+            return null;
+        }
+
+        List<Set<Song>> result = new ArrayList<>();
+        for (long gram : trigrams(query)) {
+            result.add(postings.getOrDefault(gram, Collections.emptySet()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the time spent indexing lyrics since the index was created or cleared.
+     *
+     * @return the build time, in nanoseconds
+     */
+    public long getBuildTime() {
+        return buildTime;
+    }
+
+    /**
+     * Estimates the memory used by the posting lists.
+     *
+     * @return the estimated memory, in bytes
+     */
+    public long getMemoryEstimate() {
+        return entries * ENTRY_BYTES + (long) postings.size() * GRAM_BYTES;
+    }
+
+    private static Set<Long> trigrams(final String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            long gram = 0;
+            for (int j = 0; j < GRAM_LENGTH; j++) {
+                gram = (gram << CHAR_BITS) | text.charAt(i + j);
+            }
+            grams.add(gram);
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,246 @@
+package app.searchBar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Index over the lower-cased names of a catalog, kept sorted, so the names starting with a
+ * prefix are next to each other and are found without looking at the other entries. The
+ * shortest prefixes, which many names share, also keep their entries in catalog order, so their
+ * first matches are read without putting all the matches in order. An entry is kept under its
+ * name and under its first letters, not under every prefix of its name.
+ *
+ * @param <T> the type of the indexed entries
+ */
+public final class PrefixIndex<T> {
+    // the longest prefix keeping its entries in catalog order
+    private static final int HEAD_LENGTH = 2;
+
+    private final Function<T, String> nameOf;
+    // the insertion number and the lower-cased name of every entry
+    private final Map<T, Indexed> indexed = new HashMap<>();
+    private final Comparator<T> order;
+    // the entries with each lower-cased name, in catalog order
+    private final TreeMap<String, List<T>> names = new TreeMap<>();
+    // the entries whose lower-cased name starts with each of the shortest prefixes
+    private final Map<String, TreeSet<T>> heads = new HashMap<>();
+    private long added = 0;
+
+    /**
+     * Instantiates a new Prefix index where the catalog order is the insertion order.
+     *
+     * @param nameOf the name of an entry
+     */
+    public PrefixIndex(final Function<T, String> nameOf) {
+        this(nameOf, (first, second) -> 0);
+    }
+
+    /**
+     * Instantiates a new Prefix index. Entries that are equal in the catalog order keep the
+     * insertion order.
+     *
+     * @param nameOf       the name of an entry
+     * @param catalogOrder the order in which the entries are listed
+     */
+    public PrefixIndex(final Function<T, String> nameOf, final Comparator<T> catalogOrder) {
+        this.nameOf = nameOf;
+        this.order = catalogOrder.thenComparingLong(entry -> indexed.get(entry).sequence);
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the entry
+     */
+    public void add(final T entry) {
+        if (indexed.containsKey(entry)) {
+            return;
+        }
+
+        String name = nameOf.apply(entry).toLowerCase();
+        indexed.put(entry, new Indexed(added++, name));
+        List<T> entries = names.computeIfAbsent(name, key -> new ArrayList<>(1));
+        int position = Collections.binarySearch(entries, entry, order);
+        entries.add(-position - 1, entry);
+        for (int length = 1; length <= Math.min(HEAD_LENGTH, name.length()); length++) {
+            heads.computeIfAbsent(name.substring(0, length), key -> new TreeSet<>(order))
+                    .add(entry);
+        }
+    }
+
+    /**
+     * Removes an entry, if it is indexed.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        Indexed removed = indexed.get(entry);
+        if (removed == null) {
+            return;
+        }
+
+        List<T> entries = names.get(removed.name);
+        entries.remove(entry);
+        if (entries.isEmpty()) {
+            names.remove(removed.name);
+        }
+        for (int length = 1; length <= Math.min(HEAD_LENGTH, removed.name.length()); length++) {
+            String head = removed.name.substring(0, length);
+            TreeSet<T> headEntries = heads.get(head);
+            headEntries.remove(entry);
+            if (headEntries.isEmpty()) {
+                heads.remove(head);
+            }
+        }
+        // the ordered sets find the entry through its insertion number, so it is dropped last
+        indexed.remove(entry);
+    }
+
+    /**
+     * Checks whether the name of an indexed entry starts with a prefix, ignoring case.
+     *
+     * @param entry  the entry
+     * @param prefix the prefix, already in lower case
+     * @return whether the name starts with the prefix, false if the entry is not indexed
+     */
+    public boolean hasPrefix(final T entry, final String prefix) {
+        Indexed entryIndexed = indexed.get(entry);
+        return entryIndexed != null && entryIndexed.name.startsWith(prefix);
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        names.clear();
+        heads.clear();
+        indexed.clear();
+        added = 0;
+    }
+
+    /**
+     * Counts the entries whose name starts with the prefix, ignoring case, stopping at a
+     * maximum so a prefix many names share is not counted through.
+     *
+     * @param prefix the prefix
+     * @param max    the count at which to stop
+     * @return the number of matching entries, or max if there are at least that many
+     */
+    public int count(final String prefix, final int max) {
+        String folded = prefix.toLowerCase();
+        if (folded.isEmpty()) {
+            return Math.min(indexed.size(), max);
+        }
+        if (folded.length() <= HEAD_LENGTH) {
+            TreeSet<T> head = heads.get(folded);
+            return head == null ? 0 : Math.min(head.size(), max);
+        }
+
+        int count = 0;
+        for (Map.Entry<String, List<T>> name : names.tailMap(folded).entrySet()) {
+            if (count >= max || !name.getKey().startsWith(folded)) {
+                break;
+            }
+            count += name.getValue().size();
+        }
+        return Math.min(count, max);
+    }
+
+    /**
+     * Gets, in catalog order, entries among which are all those whose name starts with the
+     * prefix, ignoring case. A short prefix gives exactly its matches. A longer one gives all
+     * the entries starting with the same first letters when walking them finds the first
+     * matches before all the matches are counted, and otherwise the matches put in order.
+     *
+     * @param prefix the prefix
+     * @param limit  the number of matches looked for
+     * @return the entries, whose names still have to be checked with hasPrefix
+     */
+    public Collection<T> candidates(final String prefix, final int limit) {
+        String folded = prefix.toLowerCase();
+        if (folded.isEmpty()) {
+            return inOrder(folded);
+        }
+        TreeSet<T> head = heads.get(folded.substring(0, Math.min(HEAD_LENGTH, folded.length())));
+        if (head == null) {
+            return Collections.emptyList();
+        }
+        if (folded.length() <= HEAD_LENGTH) {
+            return Collections.unmodifiableSet(head);
+        }
+
+        // walk the head and the sorted names together, one step at a time, and stop at the
+        // first to finish, so neither is walked much longer than the other would be
+        Iterator<T> walk = head.iterator();
+        Iterator<String> range = names.tailMap(folded).keySet().iterator();
+        int found = 0;
+        while (walk.hasNext() && found < limit) {
+            if (!range.hasNext() || !range.next().startsWith(folded)) {
+                return inOrder(folded);
+            }
+            if (hasPrefix(walk.next(), folded)) {
+                found++;
+            }
+        }
+        return Collections.unmodifiableSet(head);
+    }
+
+    /**
+     * Gets the first entries whose name starts with the prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum number of entries
+     * @return the matching entries, in catalog order
+     */
+    public List<T> startingWith(final String prefix, final int limit) {
+        String folded = prefix.toLowerCase();
+        List<T> result = new ArrayList<>();
+        for (T entry : candidates(folded, limit)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (hasPrefix(entry, folded)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Puts the entries whose name starts with the prefix, already in lower case, in catalog
+     * order.
+     */
+    private List<T> inOrder(final String folded) {
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<String, List<T>> name : names.tailMap(folded).entrySet()) {
+            if (!name.getKey().startsWith(folded)) {
+                break;
+            }
+            result.addAll(name.getValue());
+        }
+        result.sort(order);
+        return result;
+    }
+
+    /**
+     * What is kept for every indexed entry.
+     */
+    private static final class Indexed {
+        private final long sequence;
+        private final String name;
+
+        Indexed(final long sequence, final String name) {
+            this.sequence = sequence;
+            this.name = name;
+        }
+    }
+}
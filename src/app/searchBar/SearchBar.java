@@ -8,15 +8,10 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static app.searchBar.FilterUtils.filterLibraryByName;
-import static app.searchBar.FilterUtils.filterByAlbum;
-import static app.searchBar.FilterUtils.filterByTags;
-import static app.searchBar.FilterUtils.filterByLyrics;
-import static app.searchBar.FilterUtils.filterByGenre;
-import static app.searchBar.FilterUtils.filterByReleaseYear;
-import static app.searchBar.FilterUtils.filterByArtist;
 import static app.searchBar.FilterUtils.filterByPlaylistVisibility;
 import static app.searchBar.FilterUtils.filterByOwner;
 import static app.searchBar.FilterUtils.filterByFollowers;
@@ -67,48 +62,34 @@ public final class SearchBar {
         Admin admin = Admin.getInstance();
         List<LibraryEntry> entries;
 
+        // the same search made since the last change to what it goes through is not run again
+        Filters searched = filters.relevantTo(type);
+        long version = "playlist".equals(type) ? admin.getPlaylistVersion()
+                : admin.getLibraryVersion();
+        List<LibraryEntry> cached = admin.getSearchCache().get(type, searched, user, version);
+        if (cached != null) {
+            this.libraryResults = new ArrayList<>(cached);
+            this.lastSearchType = type;
+            return this.libraryResults;
+        }
+
         switch (type) {
             case "song":
-                entries = new ArrayList<>(admin.getSongs());
-
-                if (filters.getName() != null) {
-                    entries = filterLibraryByName(entries, filters.getName());
-                }
-
-                if (filters.getAlbum() != null) {
-                    entries = filterByAlbum(entries, filters.getAlbum());
-                }
-
-                if (filters.getTags() != null) {
-                    entries = filterByTags(entries, filters.getTags());
-                }
-
-                if (filters.getLyrics() != null) {
-                    entries = filterByLyrics(entries, filters.getLyrics());
-                }
-
-                if (filters.getGenre() != null) {
-                    entries = filterByGenre(entries, filters.getGenre());
-                }
-
-                if (filters.getReleaseYear() != null) {
-                    entries = filterByReleaseYear(entries, filters.getReleaseYear());
-                }
-
-                if (filters.getArtist() != null) {
-                    entries = filterByArtist(entries, filters.getArtist());
-                }
+                // the index applies all the filters and stops after the first results
+                entries = admin.getLibraryIndex().search(filters, MAX_RESULTS);
 
                 break;
             case "playlist":
-                entries = new ArrayList<>(admin.getPlaylists());
-
-                entries = filterByPlaylistVisibility(entries, user);
-
                 if (filters.getName() != null) {
-                    entries = filterLibraryByName(entries, filters.getName());
+                    entries = filterLibraryByName(admin.getPlaylistNames(), filters.getName(),
+                            Integer.MAX_VALUE);
+                } else {
+                    // the filters below copy the matches, so the view is not copied
+                    entries = Collections.unmodifiableList(admin.getPlaylists());
                 }
 
+                entries = filterByPlaylistVisibility(entries, user);
+
                 if (filters.getOwner() != null) {
                     entries = filterByOwner(entries, filters.getOwner());
                 }
@@ -119,10 +100,15 @@ public final class SearchBar {
 
                 break;
             case "podcast":
-                entries = new ArrayList<>(admin.getPodcasts());
-
                 if (filters.getName() != null) {
-                    entries = filterLibraryByName(entries, filters.getName());
+                    // without an owner filter only the first matches are needed
+                    entries = filterLibraryByName(admin.getPodcastNames(), filters.getName(),
+                            filters.getOwner() == null ? MAX_RESULTS : Integer.MAX_VALUE);
+                } else if (filters.getOwner() == null) {
+                    entries = firstResults(admin.getPodcasts());
+                } else {
+                    // the owner filter copies the matches, so the view is not copied
+                    entries = Collections.unmodifiableList(admin.getPodcasts());
                 }
 
                 if (filters.getOwner() != null) {
@@ -131,10 +117,15 @@ public final class SearchBar {
 
                 break;
             case "album":
-                entries = new ArrayList<>(admin.getAlbums());
-
                 if (filters.getName() != null) {
-                    entries = filterLibraryByName(entries, filters.getName());
+                    // without an owner filter only the first matches are needed
+                    entries = filterLibraryByName(admin.getAlbumNames(), filters.getName(),
+                            filters.getOwner() == null ? MAX_RESULTS : Integer.MAX_VALUE);
+                } else if (filters.getOwner() == null) {
+                    entries = firstResults(admin.getAlbums());
+                } else {
+                    // the owner filter copies the matches, so the view is not copied
+                    entries = Collections.unmodifiableList(admin.getAlbums());
                 }
 
                 if (filters.getOwner() != null) {
@@ -149,6 +140,7 @@ public final class SearchBar {
         while (entries.size() > MAX_RESULTS) {
             entries.remove(entries.size() - 1);
         }
+        admin.getSearchCache().put(type, searched, user, version, entries);
 
         this.libraryResults = entries;
         this.lastSearchType = type;
@@ -171,23 +163,23 @@ public final class SearchBar {
         switch (type) {
             // case for searching artists
             case "artist":
-                // get all artists
-                entries = new ArrayList<>(admin.getArtists());
-
-                // filter by name if specified
+                // look the name up in the index if specified, otherwise get all artists
                 if (filters.getName() != null) {
-                    entries = filterUsersByName(entries, filters.getName());
+                    entries = filterUsersByName(admin.getArtistNames(), filters.getName(),
+                            MAX_RESULTS);
+                } else {
+                    entries = firstResults(admin.getArtists());
                 }
 
                 break;
             // case for searching hosts
             case "host":
-                // get all hosts
-                entries = new ArrayList<>(admin.getHosts());
-
-                // filter by name if specified
+                // look the name up in the index if specified, otherwise get all hosts
                 if (filters.getName() != null) {
-                    entries = filterUsersByName(entries, filters.getName());
+                    entries = filterUsersByName(admin.getHostNames(), filters.getName(),
+                            MAX_RESULTS);
+                } else {
+                    entries = firstResults(admin.getHosts());
                 }
 
                 break;
@@ -202,14 +194,28 @@ public final class SearchBar {
             entries.remove(entries.size() - 1);
         }
 
-        // store the results
+        // store the results, recording the pages they refer to
         userResults = new ArrayList<>(entries);
+        for (UserEntry entry : userResults) {
+            admin.addPageViewer(entry.getUsername(), user);
+        }
         // store the last search type
         lastSearchTypeUser = type;
         // return the final result
         return userResults;
     }
 
+    /**
+     * Copies the entries that fit in the results.
+     *
+     * @param entries the entries
+     * @param <T>     the type of the entries
+     * @return the first entries, in a list that can be changed
+     */
+    private static <T> List<T> firstResults(final List<? extends T> entries) {
+        return new ArrayList<>(entries.subList(0, Math.min(entries.size(), MAX_RESULTS)));
+    }
+
     /**
      * Select library entry.
      *
@@ -0,0 +1,118 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the results of the last library searches, so the same search made again, by the same
+ * user or by another one, is not run again. Every result remembers the version of the songs,
+ * albums and podcasts, or of the playlists, it was found in, and is only given back while that
+ * version is the current one. The searches used least recently are dropped first.
+ */
+public final class SearchCache {
+    private static final int CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Map<Key, Result> results = new LinkedHashMap<>(CAPACITY, LOAD_FACTOR, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Result> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+
+    /**
+     * Gets the results of a search made before.
+     *
+     * @param type    the type of the searched entries
+     * @param filters the filters, holding only those the search reads
+     * @param user    the user searching, who can see their own private playlists
+     * @param version the current version of what the search goes through
+     * @return the results, which can't be changed, or null if the search has to be run
+     */
+    public List<LibraryEntry> get(final String type, final Filters filters, final String user,
+                                  final long version) {
+        Key key = new Key(type, filters, user);
+        Result result = results.get(key);
+        if (result == null || result.version != version) {
+            if (result != null) {
+                results.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return result.entries;
+    }
+
+    /**
+     * Keeps the results of a search.
+     *
+     * @param type    the type of the searched entries
+     * @param filters the filters, holding only those the search reads
+     * @param user    the user searching
+     * @param version the version of what the search went through
+     * @param entries the results
+     */
+    public void put(final String type, final Filters filters, final String user,
+                    final long version, final List<LibraryEntry> entries) {
+        results.put(new Key(type, filters, user), new Result(version, List.copyOf(entries)));
+    }
+
+    /**
+     * Forgets all the results and resets the counters.
+     */
+    public void clear() {
+        results.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * A search; the user only matters for playlists, whose visibility depends on who searches.
+     */
+    private static final class Key {
+        private final String type;
+        private final Filters filters;
+        private final String user;
+
+        Key(final String type, final Filters filters, final String user) {
+            this.type = type;
+            this.filters = filters;
+            this.user = "playlist".equals(type) ? user : null;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return type.equals(key.type) && filters.equals(key.filters)
+                    && Objects.equals(user, key.user);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, filters, user);
+        }
+    }
+
+    private static final class Result {
+        private final long version;
+        private final List<LibraryEntry> entries;
+
+        Result(final long version, final List<LibraryEntry> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+    }
+}
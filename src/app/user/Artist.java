@@ -7,14 +7,20 @@ import checker.CheckerConstants;
 import fileio.input.CommandInput;
 import fileio.input.EventInput;
 import fileio.input.MerchInput;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 @Getter@Setter
 public final class Artist extends UserEntry {
     private final ArrayList<Album> albums;
+    // the albums by name, so a name is checked without going through the albums
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private final Map<String, Album> albumsByName = new HashMap<>();
     private final ArrayList<EventInput> events;
     private final ArrayList<MerchInput> merch;
     private Integer likes;
@@ -25,6 +31,7 @@ public final class Artist extends UserEntry {
         setUserType(Enums.UserType.ARTIST);
         events = new ArrayList<>();
         merch = new ArrayList<>();
+        likes = 0;
     }
 
     /**
@@ -38,6 +45,36 @@ public final class Artist extends UserEntry {
         return shownAlbums;
     }
 
+    /**
+     * Gets the album with the given name.
+     *
+     * @param name the name
+     * @return the album, or null if the artist has no album with this name
+     */
+    public Album getAlbum(final String name) {
+        return albumsByName.get(name);
+    }
+
+    /**
+     * Adds an album, whose name the artist doesn't have yet.
+     *
+     * @param album the album
+     */
+    public void addAlbum(final Album album) {
+        albums.add(album);
+        albumsByName.put(album.getName(), album);
+    }
+
+    /**
+     * Removes an album.
+     *
+     * @param album the album
+     */
+    public void removeAlbum(final Album album) {
+        albums.remove(album);
+        albumsByName.remove(album.getName());
+    }
+
     /**
      * Adds a new event to the artist's list of events based on the provided CommandInput.
      *
@@ -47,8 +84,7 @@ public final class Artist extends UserEntry {
     public static String addEvent(final CommandInput command) {
         Admin admin = Admin.getInstance();
         // check if the specified username exists
-        if (!admin.isUser(command.getUsername()) && !admin.isArtist(command.getUsername())
-                && !admin.isHost(command.getUsername())) {
+        if (!admin.isRegistered(command.getUsername())) {
             return "The username " + command.getUsername() + " doesn't exist.";
         }
 
@@ -90,6 +126,7 @@ public final class Artist extends UserEntry {
         EventInput event = new EventInput(command.getUsername(), command.getName(),
                 command.getDescription(), command.getDate());
         currentArtist.getEvents().add(event);
+        admin.pageChanged(currentArtist);
 
         // return a success message indicating the event addition
         return command.getUsername() + " has added new event successfully.";
@@ -104,8 +141,7 @@ public final class Artist extends UserEntry {
     public static String addMerch(final CommandInput command) {
         Admin admin = Admin.getInstance();
         // check if the specified username exists
-        if (!admin.isUser(command.getUsername()) && !admin.isArtist(command.getUsername())
-                && !admin.isHost(command.getUsername())) {
+        if (!admin.isRegistered(command.getUsername())) {
             return "The username " + command.getUsername() + " doesn't exist.";
         }
 
@@ -133,6 +169,7 @@ public final class Artist extends UserEntry {
         MerchInput merch = new MerchInput(command.getUsername(), command.getName(),
                 command.getDescription(), command.getPrice());
         currentArtist.getMerch().add(merch);
+        admin.pageChanged(currentArtist);
 
         // return a success message indicating the merch addition
         return command.getUsername() + " has added new merchandise successfully.";
@@ -148,9 +185,7 @@ public final class Artist extends UserEntry {
     public static String removeEvent(final CommandInput commandInput) {
         Admin admin = Admin.getInstance();
         // check if the specified username exists
-        if (!admin.isUser(commandInput.getUsername())
-                && !admin.isArtist(commandInput.getUsername())
-                && !admin.isHost(commandInput.getUsername())) {
+        if (!admin.isRegistered(commandInput.getUsername())) {
             return "The username " + commandInput.getUsername() + " doesn't exist.";
         }
 
@@ -181,6 +216,7 @@ public final class Artist extends UserEntry {
 
         // remove the event from the artist's list of events
         currentArtist.getEvents().remove(deletedEvent);
+        admin.pageChanged(currentArtist);
 
         // return a success message indicating the event removal
         return commandInput.getUsername() + " deleted the event successfully.";
@@ -5,14 +5,20 @@ import app.audio.Collections.Podcast;
 import app.utils.Enums;
 import fileio.input.AnnouncementInput;
 import fileio.input.CommandInput;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 @Getter@Setter
 public class Host extends UserEntry {
     private final ArrayList<Podcast> podcasts;
+    // the podcasts by name, so a name is checked without going through the podcasts
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private final Map<String, Podcast> podcastsByName = new HashMap<>();
     private final ArrayList<AnnouncementInput> announcements;
     public Host(final String username, final int age, final String city) {
         super(username, age, city);
@@ -33,6 +39,36 @@ public class Host extends UserEntry {
         return shownPodcasts;
     }
 
+    /**
+     * Gets the podcast with the given name.
+     *
+     * @param name the name
+     * @return the podcast, or null if the host has no podcast with this name
+     */
+    public final Podcast getPodcast(final String name) {
+        return podcastsByName.get(name);
+    }
+
+    /**
+     * Adds a podcast, whose name the host doesn't have yet.
+     *
+     * @param podcast the podcast
+     */
+    public final void addPodcast(final Podcast podcast) {
+        podcasts.add(podcast);
+        podcastsByName.put(podcast.getName(), podcast);
+    }
+
+    /**
+     * Removes a podcast.
+     *
+     * @param podcast the podcast
+     */
+    public final void removePodcast(final Podcast podcast) {
+        podcasts.remove(podcast);
+        podcastsByName.remove(podcast.getName());
+    }
+
     /**
      * Adds a new announcement to the host's list of announcements based on the
      * provided CommandInput.
@@ -43,8 +79,7 @@ public class Host extends UserEntry {
     public static String addAnnouncement(final CommandInput command) {
         Admin admin = Admin.getInstance();
         // check if the specified username exists
-        if (!admin.isUser(command.getUsername()) && !admin.isArtist(command.getUsername())
-                && !admin.isHost(command.getUsername())) {
+        if (!admin.isRegistered(command.getUsername())) {
             return "The username " + command.getUsername() + " doesn't exist.";
         }
 
@@ -68,6 +103,7 @@ public class Host extends UserEntry {
         AnnouncementInput announcement = new AnnouncementInput(command.getUsername(),
                 command.getName(), command.getDescription());
         currentHost.getAnnouncements().add(announcement);
+        admin.pageChanged(currentHost);
 
         // return a success message indicating the announcement addition
         return command.getUsername() + " has successfully added new announcement.";
@@ -84,8 +120,7 @@ public class Host extends UserEntry {
     public static String removeAnnouncement(final CommandInput command) {
         Admin admin = Admin.getInstance();
         // check if the specified username exists
-        if (!admin.isUser(command.getUsername()) && !admin.isArtist(command.getUsername())
-                && !admin.isHost(command.getUsername())) {
+        if (!admin.isRegistered(command.getUsername())) {
             return "The username " + command.getUsername() + " doesn't exist.";
         }
 
@@ -115,6 +150,7 @@ public class Host extends UserEntry {
 
         // remove the announcement from the host's list of announcements
         currentHost.getAnnouncements().remove(deletedAnnouncement);
+        admin.pageChanged(currentHost);
 
         // return a success message indicating the announcement removal
         return command.getUsername() + " has successfully deleted the announcement.";
@@ -12,12 +12,18 @@ import app.player.PlayerStats;
 import app.searchBar.Filters;
 import app.searchBar.SearchBar;
 import app.utils.Enums;
+import app.utils.IndexedList;
 import fileio.input.CommandInput;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * The type User.
@@ -26,12 +32,22 @@ import java.util.List;
 public final class User extends UserEntry {
     private ArrayList<Playlist> playlists;
     private Enums.CurrentPage currentPage;
-    private ArrayList<Song> likedSongs;
+    private IndexedList<Song> likedSongs;
     private ArrayList<Playlist> followedPlaylists;
     private final Player player;
     private final SearchBar searchBar;
     private boolean lastSearched;
     private Enums.ConnectionStatus status;
+    // the timestamp up to which the player was simulated
+    private int lastUpdate;
+    // when each liked song was liked and, for every genre, when its liked songs were liked,
+    // so the preferred genre is found without going through the liked songs
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private final Map<Song, Long> likeOrders = new HashMap<>();
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private final Map<Enums.Genre, TreeSet<Long>> genreLikes = new EnumMap<>(Enums.Genre.class);
+    @Getter(AccessLevel.NONE)@Setter(AccessLevel.NONE)
+    private long likes;
 
     /**
      * Instantiates a new User.
@@ -43,7 +59,7 @@ public final class User extends UserEntry {
     public User(final String username, final int age, final String city) {
         super(username, age, city);
         playlists = new ArrayList<>();
-        likedSongs = new ArrayList<>();
+        likedSongs = new IndexedList<>();
         followedPlaylists = new ArrayList<>();
         player = new Player();
         searchBar = new SearchBar(username);
@@ -145,6 +161,7 @@ public final class User extends UserEntry {
         }
 
         player.setSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
+        Admin.getInstance().addListener(this, searchBar.getLastSelected());
         searchBar.clearSelection();
 
         player.pause();
@@ -287,17 +304,44 @@ public final class User extends UserEntry {
         Song song = (Song) player.getCurrentAudioFile();
 
         if (likedSongs.contains(song)) {
-            likedSongs.remove(song);
+            removeLikedSong(song);
             song.dislike();
+            Admin.getInstance().updateLike(this, song, false);
 
             return "Unlike registered successfully.";
         }
 
-        likedSongs.add(song);
+        addLikedSong(song);
         song.like();
+        Admin.getInstance().updateLike(this, song, true);
         return "Like registered successfully.";
     }
 
+    private void addLikedSong(final Song song) {
+        likedSongs.add(song);
+        Admin.getInstance().pageChanged(this);
+        Enums.Genre genre = Enums.Genre.fromLabel(song.getGenre());
+        if (genre != null) {
+            long order = likes++;
+            likeOrders.put(song, order);
+            genreLikes.computeIfAbsent(genre, key -> new TreeSet<>()).add(order);
+        }
+    }
+
+    /**
+     * Removes a song from the liked songs, keeping the counts of the genres up to date.
+     *
+     * @param song the song
+     */
+    public void removeLikedSong(final Song song) {
+        likedSongs.remove(song);
+        Admin.getInstance().pageChanged(this);
+        Long order = likeOrders.remove(song);
+        if (order != null) {
+            genreLikes.get(Enums.Genre.fromLabel(song.getGenre())).remove(order);
+        }
+    }
+
     /**
      * Next string.
      *
@@ -346,7 +390,9 @@ public final class User extends UserEntry {
             return "A playlist with the same name already exists.";
         }
 
-        playlists.add(new Playlist(name, getUsername(), timestamp));
+        Playlist playlist = new Playlist(name, getUsername(), timestamp);
+        playlists.add(playlist);
+        Admin.getInstance().addPlaylist(playlist);
 
         return "Playlist created successfully.";
     }
@@ -371,6 +417,8 @@ public final class User extends UserEntry {
         }
 
         Playlist playlist = playlists.get(id - 1);
+        // whoever plays the playlist has to reach this moment before its songs change
+        Admin.getInstance().catchUpListeners(playlist);
 
         if (playlist.containsSong((Song) player.getCurrentAudioFile())) {
             playlist.removeSong((Song) player.getCurrentAudioFile());
@@ -441,13 +489,17 @@ public final class User extends UserEntry {
 
         if (followedPlaylists.contains(playlist)) {
             followedPlaylists.remove(playlist);
+            Admin.getInstance().pageChanged(this);
             playlist.decreaseFollowers();
+            Admin.getInstance().updateFollow(this, playlist, false);
 
             return "Playlist unfollowed successfully.";
         }
 
         followedPlaylists.add(playlist);
+        Admin.getInstance().pageChanged(this);
         playlist.increaseFollowers();
+        Admin.getInstance().updateFollow(this, playlist, true);
 
 
         return "Playlist followed successfully.";
@@ -482,28 +534,44 @@ public final class User extends UserEntry {
      * @return the preferred genre
      */
     public String getPreferredGenre() {
-        String[] genres = {"pop", "rock", "rap"};
-        int[] counts = new int[genres.length];
-        int mostLikedIndex = -1;
+        Enums.Genre mostLiked = null;
         int mostLikedCount = 0;
-
-        for (Song song : likedSongs) {
-            for (int i = 0; i < genres.length; i++) {
-                if (song.getGenre().equals(genres[i])) {
-                    counts[i]++;
-                    if (counts[i] > mostLikedCount) {
-                        mostLikedCount = counts[i];
-                        mostLikedIndex = i;
-                    }
-                    break;
-                }
+        long mostLikedLast = 0;
+
+        // on a tie, the genre that got to the count first wins, which is the one whose
+        // last liked song was liked first
+        for (Map.Entry<Enums.Genre, TreeSet<Long>> entry : genreLikes.entrySet()) {
+            int count = entry.getValue().size();
+            if (count == 0) {
+                continue;
+            }
+            long last = entry.getValue().last();
+            if (count > mostLikedCount || (count == mostLikedCount && last < mostLikedLast)) {
+                mostLiked = entry.getKey();
+                mostLikedCount = count;
+                mostLikedLast = last;
             }
         }
 
-        String preferredGenre = mostLikedIndex != -1 ? genres[mostLikedIndex] : "unknown";
+        String preferredGenre = mostLiked != null ? mostLiked.getLabel() : "unknown";
         return "This user's preferred genre is %s.".formatted(preferredGenre);
     }
 
+    /**
+     * Simulates the time passed since the player was last brought up to date. Players are
+     * only simulated when they are used, so idle users cost nothing in the meantime; the
+     * players with more time left than their track lasts are caught up at every timestamp.
+     *
+     * @param timestamp the current timestamp
+     */
+    public void catchUp(final int timestamp) {
+        int elapsed = timestamp - lastUpdate;
+        lastUpdate = timestamp;
+        if (elapsed > 0) {
+            simulateTime(elapsed);
+        }
+    }
+
     /**
      * Simulate time.
      *
@@ -541,8 +609,7 @@ public final class User extends UserEntry {
     public static String switchUserStatus(final CommandInput commandInput) {
         Admin admin = Admin.getInstance();
         // check if the specified username exists
-        if (!admin.isUser(commandInput.getUsername()) && !admin.isArtist(commandInput.getUsername())
-                && !admin.isHost(commandInput.getUsername())) {
+        if (!admin.isRegistered(commandInput.getUsername())) {
             return "The username " + commandInput.getUsername() + " doesn't exist.";
         }
 
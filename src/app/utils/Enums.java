@@ -1,11 +1,41 @@
 package app.utils;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class Enums { // diferite enumuri, le-am gurpat pe toate intr-un loc
     public enum Genre {
         POP,
         ROCK,
-        RAP
-    } // etc
+        RAP; // etc
+
+        private static final Map<String, Genre> BY_LABEL = new HashMap<>();
+
+        static {
+            for (Genre genre : values()) {
+                BY_LABEL.put(genre.getLabel(), genre);
+            }
+        }
+
+        /**
+         * Gets the genre as it is written in the songs.
+         *
+         * @return the lower-case name of the genre
+         */
+        public String getLabel() {
+            return name().toLowerCase();
+        }
+
+        /**
+         * Finds the genre written in a song.
+         *
+         * @param label the genre of the song
+         * @return the genre, or null if it is not one of the genres
+         */
+        public static Genre fromLabel(final String label) {
+            return BY_LABEL.get(label);
+        }
+    }
 
     public enum Visibility {
         PUBLIC,
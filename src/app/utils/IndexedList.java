@@ -0,0 +1,211 @@
+package app.utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * A list holding every element at most once, in the order the elements were added, that
+ * finds and removes an element without going through the list. A removed element only leaves
+ * an empty slot behind; the number of elements before every slot is kept in a Fenwick tree, so
+ * the element at a position is still found quickly, and the slots are packed again once most
+ * of them are empty.
+ *
+ * @param <E> the type of the elements
+ */
+public final class IndexedList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object[] slots = new Object[INITIAL_CAPACITY];
+    // tree[k] counts the elements in the slots (k - (k & -k), k], numbered from 1
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private final Map<E, Integer> positions = new HashMap<>();
+    private int used;
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(final Object element) {
+        return positions.containsKey(element);
+    }
+
+    @Override
+    public int indexOf(final Object element) {
+        Integer slot = positions.get(element);
+        return slot != null ? countBefore(slot) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object element) {
+        return indexOf(element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) slots[used == size ? index : slotOf(index)];
+    }
+
+    /**
+     * Adds an element at the end, unless the list already holds it.
+     *
+     * @param element the element
+     * @return whether the element was added
+     */
+    @Override
+    public boolean add(final E element) {
+        if (positions.containsKey(element)) {
+            return false;
+        }
+        if (used == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+            tree = Arrays.copyOf(tree, slots.length + 1);
+        }
+
+        int node = used + 1;
+        tree[node] = 1 + countBefore(used) - countBefore(node - (node & -node));
+        slots[used] = element;
+        positions.put(element, used);
+        used++;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object element) {
+        Integer slot = positions.remove(element);
+        if (slot == null) {
+            return false;
+        }
+
+        slots[slot] = null;
+        for (int node = slot + 1; node <= used; node += node & -node) {
+            tree[node]--;
+        }
+        size--;
+        modCount++;
+        if (used - size > size) {
+            pack();
+        }
+        return true;
+    }
+
+    @Override
+    public E remove(final int index) {
+        E element = get(index);
+        remove(element);
+        return element;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0, used, null);
+        positions.clear();
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private int slot = nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < used;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (slot >= used) {
+                    throw new NoSuchElementException();
+                }
+                E element = (E) slots[slot];
+                slot = nextSlot(slot + 1);
+                return element;
+            }
+        };
+    }
+
+    private int nextSlot(final int from) {
+        int slot = from;
+        while (slot < used && slots[slot] == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Counts the elements in the slots before the given one.
+     */
+    private int countBefore(final int slot) {
+        int count = 0;
+        for (int node = slot; node > 0; node -= node & -node) {
+            count += tree[node];
+        }
+        return count;
+    }
+
+    /**
+     * Finds the slot of the element at the given position, walking down the Fenwick tree.
+     */
+    private int slotOf(final int index) {
+        int node = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(used); step > 0; step >>= 1) {
+            if (node + step <= used && tree[node + step] <= remaining) {
+                node += step;
+                remaining -= tree[node];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Moves the elements to the first slots, keeping their order.
+     */
+    @SuppressWarnings("unchecked")
+    private void pack() {
+        int next = 0;
+        for (int slot = 0; slot < used; slot++) {
+            if (slots[slot] != null) {
+                if (slot != next) {
+                    slots[next] = slots[slot];
+                    positions.put((E) slots[next], next);
+                }
+                next++;
+            }
+        }
+        Arrays.fill(slots, next, used, null);
+        used = next;
+
+        for (int node = 1; node <= used; node++) {
+            tree[node] = 1;
+        }
+        for (int node = 1; node <= used; node++) {
+            int parent = node + (node & -node);
+            if (parent <= used) {
+                tree[parent] += tree[node];
+            }
+        }
+    }
+}
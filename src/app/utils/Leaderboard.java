@@ -0,0 +1,116 @@
+package app.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps entries sorted by a score that is updated as it changes, so the best entries can be
+ * read without sorting the whole collection. Entries with the same score are ordered by the
+ * tie breaker and then by the order in which they were added.
+ *
+ * @param <T> the type of the ranked entries
+ */
+public final class Leaderboard<T> {
+    private final Map<T, Integer> scores = new HashMap<>();
+    private final Map<T, Long> insertionOrder = new HashMap<>();
+    private final TreeSet<T> ranking;
+    private long added = 0;
+
+    /**
+     * Instantiates a new Leaderboard where equal scores keep the insertion order.
+     */
+    public Leaderboard() {
+        this((first, second) -> 0);
+    }
+
+    /**
+     * Instantiates a new Leaderboard.
+     *
+     * @param tieBreaker the order of the entries with the same score
+     */
+    public Leaderboard(final Comparator<T> tieBreaker) {
+        Comparator<T> byScore = Comparator.comparingInt(entry -> scores.get(entry));
+        ranking = new TreeSet<>(byScore.reversed()
+                .thenComparing(tieBreaker)
+                .thenComparingLong(entry -> insertionOrder.get(entry)));
+    }
+
+    /**
+     * Adds an entry after all the entries already ranked with the same score.
+     *
+     * @param entry the entry
+     * @param score the score
+     */
+    public void add(final T entry, final int score) {
+        if (scores.containsKey(entry)) {
+            update(entry, score);
+            return;
+        }
+
+        scores.put(entry, score);
+        insertionOrder.put(entry, added++);
+        ranking.add(entry);
+    }
+
+    /**
+     * Removes an entry, if it is ranked.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        if (!scores.containsKey(entry)) {
+            return;
+        }
+
+        // the entry has to leave the tree while its score still matches its position
+        ranking.remove(entry);
+        scores.remove(entry);
+        insertionOrder.remove(entry);
+    }
+
+    /**
+     * Moves an entry to the position of its new score. Entries that are not ranked are ignored.
+     *
+     * @param entry the entry
+     * @param score the new score
+     */
+    public void update(final T entry, final int score) {
+        if (!scores.containsKey(entry)) {
+            return;
+        }
+
+        ranking.remove(entry);
+        scores.put(entry, score);
+        ranking.add(entry);
+    }
+
+    /**
+     * Gets the best entries.
+     *
+     * @param limit the maximum number of entries
+     * @return the best entries, in order
+     */
+    public List<T> top(final int limit) {
+        List<T> result = new ArrayList<>();
+        Iterator<T> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        ranking.clear();
+        scores.clear();
+        insertionOrder.clear();
+        added = 0;
+    }
+}
@@ -0,0 +1,71 @@
+package app.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps, for every object, the objects that refer to it, so the references to an object can
+ * be found without scanning everything that could refer to it.
+ *
+ * @param <K> the type of the referred objects
+ * @param <V> the type of the referring objects
+ */
+public final class ReverseIndex<K, V> {
+    private final Map<K, Set<V>> references = new HashMap<>();
+
+    /**
+     * Records a reference.
+     *
+     * @param key   the referred object
+     * @param value the referring object
+     */
+    public void add(final K key, final V value) {
+        references.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+    }
+
+    /**
+     * Forgets a reference.
+     *
+     * @param key   the referred object
+     * @param value the referring object
+     */
+    public void remove(final K key, final V value) {
+        Set<V> values = references.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            references.remove(key);
+        }
+    }
+
+    /**
+     * Gets the objects referring to an object. The set is the one kept by the index, so
+     * references that no longer hold can be dropped through it while iterating.
+     *
+     * @param key the referred object
+     * @return the referring objects
+     */
+    public Set<V> get(final K key) {
+        Set<V> values = references.get(key);
+        return values != null ? values : Collections.emptySet();
+    }
+
+    /**
+     * Forgets all the references to an object.
+     *
+     * @param key the referred object
+     * @return the objects that referred to it
+     */
+    public Set<V> removeAll(final K key) {
+        Set<V> values = references.remove(key);
+        return values != null ? values : Collections.emptySet();
+    }
+
+    /**
+     * Forgets all the references.
+     */
+    public void clear() {
+        references.clear();
+    }
+}
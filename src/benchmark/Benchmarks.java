@@ -0,0 +1,474 @@
+package benchmark;
+
+import app.Admin;
+import app.CommandRunner;
+import app.ResponseWriter;
+import app.searchBar.Filters;
+import app.searchBar.LyricsIndex;
+import app.searchBar.SearchBar;
+import app.searchBar.SearchCache;
+import checker.CheckerConstants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fileio.input.CommandInput;
+import fileio.input.FiltersInput;
+import fileio.input.LibraryInput;
+import fileio.input.SongInput;
+import main.Main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks the hot paths of the application on a synthetic library: the searches for every
+ * filter, the simulation of the players, the charts, the home page, the deletions and the
+ * replays of the test files. Run it with the number of songs and users as arguments, e.g.
+ * "10000 1000" up to "10000000 1000000"; it prints the throughput and the allocation rate of
+ * every benchmark, and the build time and memory of the lyrics index when it is enabled.
+ */
+public final class Benchmarks {
+    private static final int DEFAULT_SONGS = 10_000;
+    private static final int DEFAULT_USERS = 1_000;
+    private static final long SEED = 42;
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long ITERATION_MILLIS = 1_000;
+    private static final int ITERATIONS = 5;
+    // the users that listen, like, create and follow playlists before the measurements
+    private static final int MAX_ACTIVE_USERS = 1_000;
+    private static final int USERS_PER_ARTIST = 100;
+    private static final int SONGS_PER_ALBUM = 10;
+    private static final int QUERIES = 64;
+    private static final int TIME_STEP = 10;
+    private static final int AGE = 30;
+    private static final String CITY = "Bucharest";
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final String[] YEAR_FILTERS = {"<1970", ">2000", "1999", ">1985"};
+
+    private static final ResponseWriter RESPONSES = discardingResponses();
+    private static int timestamp = 0;
+    private static int created = 0;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the number of songs and the number of users
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        int songs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SONGS;
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_USERS;
+        int activeUsers = Math.min(users, MAX_ACTIVE_USERS);
+        Random random = new Random(SEED);
+
+        Admin admin = Admin.getInstance();
+        LibraryInput library = SyntheticLibrary.create(songs, users, SEED);
+        admin.setUsers(library.getUsers());
+        admin.setSongs(library.getSongs());
+        admin.setPodcasts(library.getPodcasts());
+        int artists = Math.max(1, users / USERS_PER_ARTIST);
+        for (int i = 0; i < artists; i++) {
+            addArtist(random, "bench artist " + i);
+        }
+        for (int i = 0; i < activeUsers; i++) {
+            listen(random, SyntheticLibrary.userName(i), i, artists);
+        }
+
+        System.out.printf("%d songs, %d users, %d artists%n", admin.getSongs().size(),
+                users, artists);
+        LyricsIndex lyrics = admin.getLibraryIndex().getLyricsIndex();
+        if (lyrics != null) {
+            System.out.printf("lyrics index: built in %.1f ms, about %.1f MB%n",
+                    lyrics.getBuildTime() / NANOS_PER_MILLI,
+                    lyrics.getMemoryEstimate() / BYTES_PER_MEGABYTE);
+        }
+        Harness harness = new Harness(WARMUP_MILLIS, ITERATION_MILLIS, ITERATIONS);
+        Harness.printHeader();
+
+        searches(harness, random);
+        simulation(harness, activeUsers);
+        charts(harness, activeUsers);
+        deletions(harness, random);
+        replays(harness);
+
+        System.out.println("sink " + harness.getSink());
+    }
+
+    /**
+     * Benchmarks searchLibrary for every filter and for some combinations of filters.
+     *
+     * @param harness the harness
+     * @param random  the source of the random values
+     */
+    private static void searches(final Harness harness, final Random random) {
+        SearchBar searchBar = new SearchBar(SyntheticLibrary.userName(0));
+        String[] words = SyntheticLibrary.WORDS;
+        String[] genres = SyntheticLibrary.GENRES;
+
+        measureSearch(harness, searchBar, "song", "name", random,
+                filters -> filters.setName(pick(random, words)));
+        measureSearch(harness, searchBar, "song", "album", random,
+                filters -> filters.setAlbum(SyntheticLibrary.albumName(random.nextInt(QUERIES))));
+        measureSearch(harness, searchBar, "song", "tags", random,
+                filters -> filters.setTags(new ArrayList<>(List.of("#" + pick(random, words)))));
+        measureSearch(harness, searchBar, "song", "lyrics", random,
+                filters -> filters.setLyrics(pick(random, words)));
+        measureSearch(harness, searchBar, "song", "genre", random,
+                filters -> filters.setGenre(pick(random, genres)));
+        measureSearch(harness, searchBar, "song", "releaseYear", random,
+                filters -> filters.setReleaseYear(pick(random, YEAR_FILTERS)));
+        measureSearch(harness, searchBar, "song", "artist", random,
+                filters -> filters.setArtist(SyntheticLibrary.artistName(
+                        random.nextInt(QUERIES))));
+        measureSearch(harness, searchBar, "song", "genre+releaseYear", random, filters -> {
+            filters.setGenre(pick(random, genres));
+            filters.setReleaseYear(pick(random, YEAR_FILTERS));
+        });
+        measureSearch(harness, searchBar, "song", "name+tags+genre", random, filters -> {
+            filters.setName(pick(random, words));
+            filters.setTags(new ArrayList<>(List.of("#" + pick(random, words))));
+            filters.setGenre(pick(random, genres));
+        });
+        measureSearch(harness, searchBar, "playlist", "name", random,
+                filters -> filters.setName("playlist " + random.nextInt(QUERIES)));
+        measureSearch(harness, searchBar, "podcast", "name", random,
+                filters -> filters.setName(pick(random, words)));
+        measureSearch(harness, searchBar, "album", "name+owner", random, filters -> {
+            filters.setName("bench album");
+            filters.setOwner("bench artist " + random.nextInt(QUERIES));
+        });
+
+        SearchCache cache = Admin.getInstance().getSearchCache();
+        System.out.printf("search cache: %d hits, %d misses%n", cache.getHits(),
+                cache.getMisses());
+    }
+
+    /**
+     * Benchmarks searchLibrary for a set of queries built with the same filters, running every
+     * search, and then again with the results of the same searches kept by the search cache.
+     *
+     * @param harness   the harness
+     * @param searchBar the search bar
+     * @param type      the type of the searched entries
+     * @param name      the name of the filters
+     * @param random    the source of the random values
+     * @param setter    sets the filters of a random query
+     */
+    private static void measureSearch(final Harness harness, final SearchBar searchBar,
+                                      final String type, final String name,
+                                      final Random random, final Consumer<FiltersInput> setter) {
+        Filters[] queries = new Filters[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            FiltersInput filters = new FiltersInput();
+            setter.accept(filters);
+            queries[i] = new Filters(filters);
+        }
+
+        Admin admin = Admin.getInstance();
+        int[] next = {0};
+        harness.measure("searchLibrary/" + type + "/" + name, () -> {
+            // outdates the cached results, so the search is run
+            if ("playlist".equals(type)) {
+                admin.playlistsChanged();
+            } else {
+                admin.libraryChanged();
+            }
+            return searchBar.searchLibrary(queries[next[0]++ % QUERIES], type);
+        });
+        harness.measure("searchLibrary/" + type + "/" + name + "/cached",
+                () -> searchBar.searchLibrary(queries[next[0]++ % QUERIES], type));
+    }
+
+    /**
+     * Benchmarks the passing of time for the users that are listening to something.
+     *
+     * @param harness     the harness
+     * @param activeUsers the number of users that are listening
+     */
+    private static void simulation(final Harness harness, final int activeUsers) {
+        Admin admin = Admin.getInstance();
+        int[] next = {0};
+        harness.measure("updateTimestamp+getUser", () -> {
+            timestamp += TIME_STEP;
+            admin.updateTimestamp(timestamp);
+            return admin.getUser(SyntheticLibrary.userName(next[0]++ % activeUsers));
+        });
+    }
+
+    /**
+     * Benchmarks the charts and the home page.
+     *
+     * @param harness     the harness
+     * @param activeUsers the number of users that liked songs and followed playlists
+     */
+    private static void charts(final Harness harness, final int activeUsers) {
+        Admin admin = Admin.getInstance();
+        harness.measure("getTop5Songs", admin::getTop5Songs);
+        harness.measure("getTop5Albums", admin::getTop5Albums);
+        harness.measure("getTop5Artists", admin::getTop5Artists);
+        harness.measure("getTop5Playlists", admin::getTop5Playlists);
+
+        int[] next = {0};
+        harness.measure("printHomePage",
+                () -> admin.printHomePage(SyntheticLibrary.userName(next[0]++ % activeUsers)));
+    }
+
+    /**
+     * Benchmarks deleteUser and removeAlbum. The deleted users and albums are created by the
+     * same operation, so their creation is measured too.
+     *
+     * @param harness the harness
+     * @param random  the source of the random values
+     */
+    private static void deletions(final Harness harness, final Random random) {
+        harness.measure("addUser+createPlaylist+deleteUser", () -> {
+            String username = "bench user " + created++;
+            run(addUser(username, "user"));
+            CommandInput playlist = command("createPlaylist", username);
+            playlist.setPlaylistName("bench playlist");
+            run(playlist);
+            return run(command("deleteUser", username));
+        });
+        harness.measure("addUser+addAlbum+deleteUser", () -> {
+            String username = "bench artist " + created++;
+            addArtist(random, username);
+            return run(command("deleteUser", username));
+        });
+        harness.measure("addAlbum+removeAlbum", () -> {
+            String album = "bench album " + created++;
+            run(addAlbum(random, "bench artist 0", album));
+            CommandInput removeAlbum = command("removeAlbum", "bench artist 0");
+            removeAlbum.setName(album);
+            return run(removeAlbum);
+        });
+    }
+
+    /**
+     * Benchmarks the replays of the test files, if there are any. The synthetic library is
+     * dropped first, since every replay starts from the test library.
+     *
+     * @param harness the harness
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private static void replays(final Harness harness) throws IOException {
+        File[] tests = new File(CheckerConstants.TESTS_PATH).listFiles();
+        if (tests == null) {
+            return;
+        }
+
+        Admin.getInstance().reset();
+        File out = File.createTempFile("replay", ".json");
+        out.deleteOnExit();
+        Arrays.sort(tests);
+        for (File test : tests) {
+            if (test.getName().startsWith("library")) {
+                continue;
+            }
+
+            harness.measure("action/" + test.getName(), () -> {
+                try {
+                    Main.action(test.getName(), out.getPath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Adds an artist with an album.
+     *
+     * @param random   the source of the random values
+     * @param username the username of the artist
+     */
+    private static void addArtist(final Random random, final String username) {
+        run(addUser(username, "artist"));
+        run(addAlbum(random, username, username.replace("artist", "album")));
+    }
+
+    /**
+     * Makes a user listen to a song and an album, like them, add the song to a new playlist
+     * and follow the playlist of the previous user.
+     *
+     * @param random   the source of the random values
+     * @param username the username
+     * @param index    the index of the user
+     * @param artists  the number of artists
+     */
+    private static void listen(final Random random, final String username, final int index,
+                               final int artists) {
+        FiltersInput song = new FiltersInput();
+        song.setName(pick(random, SyntheticLibrary.WORDS));
+        load(username, "song", song);
+        run(command("like", username));
+
+        CommandInput createPlaylist = command("createPlaylist", username);
+        createPlaylist.setPlaylistName("playlist " + index);
+        run(createPlaylist);
+        CommandInput addRemoveInPlaylist = command("addRemoveInPlaylist", username);
+        addRemoveInPlaylist.setPlaylistId(1);
+        run(addRemoveInPlaylist);
+
+        if (index > 0) {
+            FiltersInput playlist = new FiltersInput();
+            playlist.setName("playlist " + (index - 1));
+            search(username, "playlist", playlist);
+            run(select(username));
+            run(command("follow", username));
+        }
+
+        FiltersInput album = new FiltersInput();
+        album.setName("bench album " + random.nextInt(artists));
+        load(username, "album", album);
+        run(command("like", username));
+    }
+
+    /**
+     * Searches, selects the first result and loads it.
+     *
+     * @param username the username
+     * @param type     the type of the searched entries
+     * @param filters  the filters
+     */
+    private static void load(final String username, final String type,
+                             final FiltersInput filters) {
+        search(username, type, filters);
+        run(select(username));
+        run(command("load", username));
+    }
+
+    /**
+     * Runs a search command.
+     *
+     * @param username the username
+     * @param type     the type of the searched entries
+     * @param filters  the filters
+     */
+    private static void search(final String username, final String type,
+                               final FiltersInput filters) {
+        CommandInput search = command("search", username);
+        search.setType(type);
+        search.setFilters(filters);
+        run(search);
+    }
+
+    /**
+     * Creates a select command for the first result.
+     *
+     * @param username the username
+     * @return the command
+     */
+    private static CommandInput select(final String username) {
+        CommandInput select = command("select", username);
+        select.setItemNumber(1);
+        return select;
+    }
+
+    /**
+     * Creates an addUser command.
+     *
+     * @param username the username
+     * @param type     user, artist or host
+     * @return the command
+     */
+    private static CommandInput addUser(final String username, final String type) {
+        CommandInput addUser = command("addUser", username);
+        addUser.setType(type);
+        addUser.setAge(AGE);
+        addUser.setCity(CITY);
+        return addUser;
+    }
+
+    /**
+     * Creates an addAlbum command with new songs.
+     *
+     * @param random   the source of the random values
+     * @param username the username of the artist
+     * @param album    the name of the album
+     * @return the command
+     */
+    private static CommandInput addAlbum(final Random random, final String username,
+                                         final String album) {
+        CommandInput addAlbum = command("addAlbum", username);
+        addAlbum.setName(album);
+        addAlbum.setReleaseYear("2023");
+        addAlbum.setDescription(album);
+        ArrayList<SongInput> songs = new ArrayList<>();
+        for (int i = 0; i < SONGS_PER_ALBUM; i++) {
+            songs.add(SyntheticLibrary.song(random, created++, album, username));
+        }
+        addAlbum.setSongs(songs);
+        return addAlbum;
+    }
+
+    /**
+     * Creates a command given by a user at the current timestamp.
+     *
+     * @param name     the name of the command
+     * @param username the username
+     * @return the command
+     */
+    private static CommandInput command(final String name, final String username) {
+        CommandInput command = new CommandInput();
+        command.setCommand(name);
+        command.setUsername(username);
+        command.setTimestamp(++timestamp);
+        return command;
+    }
+
+    /**
+     * Runs a command through the same handler as Main, throwing its response away.
+     *
+     * @param command the command
+     * @return the command
+     */
+    private static CommandInput run(final CommandInput command) {
+        Admin.getInstance().updateTimestamp(command.getTimestamp());
+        try {
+            CommandRunner.getHandler(command.getCommand()).run(command, RESPONSES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return command;
+    }
+
+    /**
+     * Creates a response writer whose output goes nowhere.
+     *
+     * @return the response writer
+     */
+    private static ResponseWriter discardingResponses() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        try {
+            JsonGenerator generator = objectMapper.getFactory()
+                    .createGenerator(OutputStream.nullOutputStream());
+            return new ResponseWriter(generator, objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Picks a random value.
+     *
+     * @param random the source of the random values
+     * @param values the values
+     * @return the value
+     */
+    private static String pick(final Random random, final String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
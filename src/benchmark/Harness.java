@@ -0,0 +1,119 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the throughput and the allocation rate of an operation, the way a JMH benchmark in
+ * throughput mode would: the operation runs for a warmup period first, then for a number of
+ * timed iterations, and the results are averaged over the iterations.
+ */
+public final class Harness {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final int NAME_WIDTH = 44;
+
+    private final long warmupNanos;
+    private final long iterationNanos;
+    private final int iterations;
+    // results of the operations are folded in here, so the JIT can't drop the calls
+    private long sink = 0;
+
+    /**
+     * An operation to be measured.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @return the result of the operation, or null
+         */
+        Object run();
+    }
+
+    /**
+     * Instantiates a new Harness.
+     *
+     * @param warmupMillis    how long each operation runs before it is measured
+     * @param iterationMillis how long each timed iteration lasts
+     * @param iterations      the number of timed iterations
+     */
+    public Harness(final long warmupMillis, final long iterationMillis, final int iterations) {
+        this.warmupNanos = warmupMillis * NANOS_PER_MILLI;
+        this.iterationNanos = iterationMillis * NANOS_PER_MILLI;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Prints the header of the table the results are printed in.
+     */
+    public static void printHeader() {
+        System.out.printf("%-" + NAME_WIDTH + "s %14s %14s %12s%n",
+                "Benchmark", "ops/s", "B/op", "MB/s");
+    }
+
+    /**
+     * Measures an operation and prints its throughput and allocation rate.
+     *
+     * @param name      the name of the benchmark
+     * @param operation the operation
+     */
+    public void measure(final String name, final Operation operation) {
+        loop(operation, warmupNanos);
+
+        long operations = 0;
+        long allocated = 0;
+        long elapsed = 0;
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            operations += loop(operation, iterationNanos);
+            elapsed += System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+        }
+
+        double seconds = elapsed / NANOS_PER_SECOND;
+        System.out.printf("%-" + NAME_WIDTH + "s %14.1f %14.1f %12.1f%n", name,
+                operations / seconds, (double) allocated / operations,
+                allocated / BYTES_PER_MEGABYTE / seconds);
+    }
+
+    /**
+     * Gets the sink the results were folded into, to be printed once all is done.
+     *
+     * @return the sink
+     */
+    public long getSink() {
+        return sink;
+    }
+
+    /**
+     * Runs an operation repeatedly for the given time.
+     *
+     * @param operation the operation
+     * @param nanos     how long to run it
+     * @return the number of times it ran
+     */
+    private long loop(final Operation operation, final long nanos) {
+        long operations = 0;
+        long end = System.nanoTime() + nanos;
+        do {
+            Object result = operation.run();
+            sink += result == null ? 0 : System.identityHashCode(result);
+            operations++;
+        } while (System.nanoTime() < end);
+        return operations;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the current thread so far.
+     *
+     * @return the number of bytes
+     */
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,181 @@
+package benchmark;
+
+import fileio.input.EpisodeInput;
+import fileio.input.LibraryInput;
+import fileio.input.PodcastInput;
+import fileio.input.SongInput;
+import fileio.input.UserInput;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Builds libraries of any size, with the same shape as the one the tests use. The same seed
+ * always gives the same library.
+ */
+public final class SyntheticLibrary {
+    /**
+     * The words the names, tags and lyrics are made of.
+     */
+    public static final String[] WORDS = {
+        "love", "night", "dream", "fire", "heart", "light", "rain", "summer", "blue", "gold",
+        "wild", "road", "home", "river", "storm", "city", "star", "shadow", "dance", "echo",
+        "ocean", "silver", "winter", "moon", "sky", "thunder", "electric", "paper", "glass",
+        "stone", "velvet", "neon", "midnight", "sunset", "lonely", "broken", "forever", "young",
+        "crazy", "sweet"
+    };
+    /**
+     * The genres of the songs.
+     */
+    public static final String[] GENRES = {
+        "pop", "rock", "rap", "jazz", "blues", "metal", "country", "electronic", "classical",
+        "reggae"
+    };
+    private static final String[] CITIES = {
+        "Bucharest", "Cluj", "Iasi", "Timisoara", "Brasov", "Constanta", "Sibiu", "Oradea"
+    };
+    private static final int FIRST_YEAR = 1950;
+    private static final int YEARS = 74;
+    private static final int SONGS_PER_ALBUM = 10;
+    private static final int ALBUMS_PER_ARTIST = 5;
+    private static final int TAGS_PER_SONG = 3;
+    private static final int LYRICS_WORDS = 20;
+    private static final int MIN_DURATION = 60;
+    private static final int DURATION_RANGE = 300;
+    private static final int MIN_AGE = 14;
+    private static final int AGE_RANGE = 60;
+    private static final int USERS_PER_PODCAST = 10;
+    private static final int EPISODES_PER_PODCAST = 5;
+    private static final int MIN_EPISODE_DURATION = 600;
+    private static final int EPISODE_DURATION_RANGE = 3000;
+
+    private SyntheticLibrary() {
+    }
+
+    /**
+     * Creates a library.
+     *
+     * @param songs the number of songs
+     * @param users the number of users, which also sets the number of podcasts
+     * @param seed  the seed of the random values
+     * @return the library
+     */
+    public static LibraryInput create(final int songs, final int users, final long seed) {
+        Random random = new Random(seed);
+        LibraryInput library = new LibraryInput();
+
+        ArrayList<SongInput> songInputs = new ArrayList<>(songs);
+        for (int i = 0; i < songs; i++) {
+            songInputs.add(song(random, i, albumName(i / SONGS_PER_ALBUM),
+                    artistName(i / (SONGS_PER_ALBUM * ALBUMS_PER_ARTIST))));
+        }
+        library.setSongs(songInputs);
+
+        ArrayList<UserInput> userInputs = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            UserInput user = new UserInput();
+            user.setUsername(userName(i));
+            user.setAge(MIN_AGE + random.nextInt(AGE_RANGE));
+            user.setCity(CITIES[random.nextInt(CITIES.length)]);
+            userInputs.add(user);
+        }
+        library.setUsers(userInputs);
+
+        int podcasts = Math.max(1, users / USERS_PER_PODCAST);
+        ArrayList<PodcastInput> podcastInputs = new ArrayList<>(podcasts);
+        for (int i = 0; i < podcasts; i++) {
+            PodcastInput podcast = new PodcastInput();
+            podcast.setName(words(random, 2) + " podcast " + i);
+            podcast.setOwner("host" + i);
+            ArrayList<EpisodeInput> episodes = new ArrayList<>();
+            for (int j = 0; j < EPISODES_PER_PODCAST; j++) {
+                EpisodeInput episode = new EpisodeInput();
+                episode.setName(podcast.getName() + " episode " + j);
+                episode.setDuration(MIN_EPISODE_DURATION
+                        + random.nextInt(EPISODE_DURATION_RANGE));
+                episode.setDescription(words(random, LYRICS_WORDS / 2));
+                episodes.add(episode);
+            }
+            podcast.setEpisodes(episodes);
+            podcastInputs.add(podcast);
+        }
+        library.setPodcasts(podcastInputs);
+
+        return library;
+    }
+
+    /**
+     * Creates a song.
+     *
+     * @param random the source of the random values
+     * @param index  the index of the song, which makes its name unique
+     * @param album  the album of the song
+     * @param artist the artist of the song
+     * @return the song
+     */
+    public static SongInput song(final Random random, final int index, final String album,
+                                 final String artist) {
+        SongInput song = new SongInput();
+        song.setName(words(random, 2) + " " + index);
+        song.setDuration(MIN_DURATION + random.nextInt(DURATION_RANGE));
+        song.setAlbum(album);
+        ArrayList<String> tags = new ArrayList<>();
+        for (int i = 0; i < TAGS_PER_SONG; i++) {
+            tags.add("#" + WORDS[random.nextInt(WORDS.length)]);
+        }
+        song.setTags(tags);
+        song.setLyrics(words(random, LYRICS_WORDS));
+        song.setGenre(GENRES[random.nextInt(GENRES.length)]);
+        song.setReleaseYear(FIRST_YEAR + random.nextInt(YEARS));
+        song.setArtist(artist);
+        return song;
+    }
+
+    /**
+     * Gets the name of the i-th user of the library.
+     *
+     * @param index the index of the user
+     * @return the username
+     */
+    public static String userName(final int index) {
+        return "user" + index;
+    }
+
+    /**
+     * Gets the name of the i-th album of the library.
+     *
+     * @param index the index of the album
+     * @return the name of the album
+     */
+    public static String albumName(final int index) {
+        return "album " + index;
+    }
+
+    /**
+     * Gets the name of the i-th artist of the library.
+     *
+     * @param index the index of the artist
+     * @return the name of the artist
+     */
+    public static String artistName(final int index) {
+        return "artist" + index;
+    }
+
+    /**
+     * Joins random words.
+     *
+     * @param random the source of the random values
+     * @param count  the number of words
+     * @return the words, separated by spaces
+     */
+    public static String words(final Random random, final int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return words.toString();
+    }
+}
@@ -0,0 +1,385 @@
+package benchmark;
+
+import checker.CheckerConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fileio.input.CommandInput;
+import fileio.input.FiltersInput;
+import fileio.input.LibraryInput;
+import fileio.input.SongInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a library and a stream of commands in the format of the test files, as large as
+ * needed. The options are given as key=value arguments:
+ * songs, users and commands set the size of the workload, seed the random values, zipf the
+ * exponent of the popularity of the songs, playlists and users (0 for uniform), step the mean
+ * number of seconds between two commands, out the directory the files are written to and name
+ * the name of the command file. The weight of every kind of session is given by its name
+ * (listen, like, playlist, follow, page, charts, addAlbum, removeAlbum, deleteUser).
+ * The library is written to out/library/library.json, which is only replaced when overwrite
+ * is true, so the files can be replayed by Main and by the benchmarks.
+ */
+public final class WorkloadGenerator {
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+    private static final int USERS_PER_ARTIST = 100;
+    private static final int SONGS_PER_ALBUM = 10;
+    private static final int AGE = 30;
+    private static final String CITY = "Bucharest";
+    private static final String[] CHARTS = {
+        "getTop5Songs", "getTop5Albums", "getTop5Artists", "getTop5Playlists", "getOnlineUsers"
+    };
+    private static final String[] PAGES = {"Home", "LikedContent"};
+    private static final String[] SESSIONS = {
+        "listen", "like", "playlist", "follow", "page", "charts", "addAlbum", "removeAlbum",
+        "deleteUser"
+    };
+    private static final String[] SESSION_WEIGHTS = {"30", "20", "10", "10", "10", "10", "4",
+        "3", "3"};
+
+    static {
+        DEFAULTS.put("songs", "10000");
+        DEFAULTS.put("users", "1000");
+        DEFAULTS.put("commands", "100000");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("zipf", "1.0");
+        DEFAULTS.put("step", "10");
+        DEFAULTS.put("out", CheckerConstants.TESTS_PATH);
+        DEFAULTS.put("name", "test_workload.json");
+        DEFAULTS.put("overwrite", "false");
+        for (int i = 0; i < SESSIONS.length; i++) {
+            DEFAULTS.put(SESSIONS[i], SESSION_WEIGHTS[i]);
+        }
+    }
+
+    private final Random random;
+    private final double zipf;
+    private final double step;
+    private final List<SongInput> songs;
+    private final List<String> users;
+    private final List<String> artists = new ArrayList<>();
+    // the albums added by every artist and not removed yet
+    private final Map<String, List<String>> albums = new HashMap<>();
+    // the playlists created so far, by name, and the number of playlists of every user
+    private final List<String> playlists = new ArrayList<>();
+    private final Map<String, Integer> playlistCounts = new HashMap<>();
+    private final int[] weights;
+    private final int totalWeight;
+    private final ObjectWriter writer;
+    private JsonGenerator output;
+    private int timestamp = 0;
+    private long written = 0;
+    private int created = 0;
+
+    /**
+     * Instantiates a new Workload generator.
+     *
+     * @param options the options, with the defaults for the missing ones
+     * @param library the library the commands are run on
+     * @param writer  the writer of the commands
+     */
+    private WorkloadGenerator(final Map<String, String> options, final LibraryInput library,
+                              final ObjectWriter writer) {
+        this.random = new Random(Long.parseLong(options.get("seed")));
+        this.zipf = Double.parseDouble(options.get("zipf"));
+        this.step = Double.parseDouble(options.get("step"));
+        this.songs = library.getSongs();
+        this.users = new ArrayList<>();
+        library.getUsers().forEach(user -> users.add(user.getUsername()));
+        this.writer = writer;
+
+        this.weights = new int[SESSIONS.length];
+        int total = 0;
+        for (int i = 0; i < SESSIONS.length; i++) {
+            weights[i] = Integer.parseInt(options.get(SESSIONS[i]));
+            total += weights[i];
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Generates the files.
+     *
+     * @param args the options, as key=value
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2 || !DEFAULTS.containsKey(option[0])) {
+                throw new IllegalArgumentException("Unknown option " + arg
+                        + ", expected one of " + DEFAULTS.keySet());
+            }
+            options.put(option[0], option[1]);
+        }
+
+        generate(options);
+    }
+
+    /**
+     * Generates the library and the commands.
+     *
+     * @param options the options, with the defaults for the missing ones
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void generate(final Map<String, String> options) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        // the absent fields are left out, like in the test files
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        LibraryInput library = SyntheticLibrary.create(Integer.parseInt(options.get("songs")),
+                Integer.parseInt(options.get("users")), Long.parseLong(options.get("seed")));
+        File directory = new File(options.get("out"));
+        File libraryFile = new File(directory, "library/library.json");
+        if (libraryFile.exists() && !Boolean.parseBoolean(options.get("overwrite"))) {
+            throw new IOException(libraryFile + " already exists, use overwrite=true");
+        }
+        Files.createDirectories(libraryFile.getParentFile().toPath());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(libraryFile, library);
+
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        WorkloadGenerator generator = new WorkloadGenerator(options, library, writer);
+        File commandsFile = new File(directory, options.get("name"));
+        try (JsonGenerator output = objectMapper.getFactory().createGenerator(commandsFile,
+                JsonEncoding.UTF8)) {
+            output.useDefaultPrettyPrinter();
+            generator.write(output, Long.parseLong(options.get("commands")));
+        }
+    }
+
+    /**
+     * Writes the array of commands, made of whole sessions.
+     *
+     * @param generator the generator the commands are written to
+     * @param commands  the number of commands after which no new session starts
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private void write(final JsonGenerator generator, final long commands) throws IOException {
+        output = generator;
+        output.writeStartArray();
+
+        // the artists, each with an album, join before the sessions start
+        int artistCount = Math.max(1, users.size() / USERS_PER_ARTIST);
+        for (int i = 0; i < artistCount; i++) {
+            String artist = "artist user " + i;
+            CommandInput addUser = command("addUser", artist);
+            addUser.setType("artist");
+            addUser.setAge(AGE);
+            addUser.setCity(CITY);
+            emit(addUser);
+            artists.add(artist);
+            addAlbum(artist);
+        }
+
+        while (written < commands && !users.isEmpty()) {
+            session(pickSession());
+        }
+
+        output.writeEndArray();
+    }
+
+    /**
+     * Writes the commands of a session of a random user.
+     *
+     * @param session the kind of session
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private void session(final String session) throws IOException {
+        String user = users.get(zipfIndex(users.size()));
+
+        switch (session) {
+            case "listen" -> listen(user);
+            case "like" -> {
+                listen(user);
+                emit(command("like", user));
+            }
+            case "playlist" -> {
+                listen(user);
+                int count = playlistCounts.getOrDefault(user, 0);
+                if (count == 0 || random.nextBoolean()) {
+                    String name = "playlist " + user + " " + count;
+                    CommandInput createPlaylist = command("createPlaylist", user);
+                    createPlaylist.setPlaylistName(name);
+                    emit(createPlaylist);
+                    playlists.add(name);
+                    playlistCounts.put(user, ++count);
+                }
+                CommandInput addRemoveInPlaylist = command("addRemoveInPlaylist", user);
+                addRemoveInPlaylist.setPlaylistId(1 + random.nextInt(count));
+                emit(addRemoveInPlaylist);
+            }
+            case "follow" -> {
+                if (playlists.isEmpty()) {
+                    return;
+                }
+                FiltersInput filters = new FiltersInput();
+                filters.setName(playlists.get(zipfIndex(playlists.size())));
+                searchAndSelect(user, "playlist", filters);
+                emit(command("follow", user));
+            }
+            case "page" -> {
+                CommandInput changePage = command("changePage", user);
+                changePage.setNextPage(PAGES[random.nextInt(PAGES.length)]);
+                emit(changePage);
+                emit(command("printCurrentPage", user));
+            }
+            case "charts" -> emit(command(CHARTS[random.nextInt(CHARTS.length)], user));
+            case "addAlbum" -> addAlbum(artists.get(random.nextInt(artists.size())));
+            case "removeAlbum" -> {
+                String artist = artists.get(random.nextInt(artists.size()));
+                List<String> artistAlbums = albums.get(artist);
+                if (artistAlbums.isEmpty()) {
+                    return;
+                }
+                CommandInput removeAlbum = command("removeAlbum", artist);
+                removeAlbum.setName(artistAlbums.remove(random.nextInt(artistAlbums.size())));
+                emit(removeAlbum);
+            }
+            case "deleteUser" -> {
+                // the least active users are the ones that leave
+                int index = users.size() - 1 - zipfIndex(users.size());
+                emit(command("deleteUser", users.get(index)));
+                users.set(index, users.get(users.size() - 1));
+                users.remove(users.size() - 1);
+            }
+            default -> throw new IllegalStateException("Unknown session " + session);
+        }
+    }
+
+    /**
+     * Writes the commands that make a user load a song, usually a popular one.
+     *
+     * @param user the user
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private void listen(final String user) throws IOException {
+        FiltersInput filters = new FiltersInput();
+        filters.setName(songs.get(zipfIndex(songs.size())).getName());
+        searchAndSelect(user, "song", filters);
+        emit(command("load", user));
+    }
+
+    /**
+     * Writes a search and the selection of its first result.
+     *
+     * @param user    the user
+     * @param type    the type of the searched entries
+     * @param filters the filters
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private void searchAndSelect(final String user, final String type,
+                                 final FiltersInput filters) throws IOException {
+        CommandInput search = command("search", user);
+        search.setType(type);
+        search.setFilters(filters);
+        emit(search);
+
+        CommandInput select = command("select", user);
+        select.setItemNumber(1);
+        emit(select);
+    }
+
+    /**
+     * Writes the addition of a new album.
+     *
+     * @param artist the artist
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private void addAlbum(final String artist) throws IOException {
+        String name = "new album " + created++;
+        ArrayList<SongInput> albumSongs = new ArrayList<>();
+        for (int i = 0; i < SONGS_PER_ALBUM; i++) {
+            albumSongs.add(SyntheticLibrary.song(random, created++, name, artist));
+        }
+
+        CommandInput addAlbum = command("addAlbum", artist);
+        addAlbum.setName(name);
+        addAlbum.setReleaseYear("2023");
+        addAlbum.setDescription(name);
+        addAlbum.setSongs(albumSongs);
+        emit(addAlbum);
+        albums.computeIfAbsent(artist, key -> new ArrayList<>()).add(name);
+    }
+
+    /**
+     * Creates a command, a random number of seconds after the previous one.
+     *
+     * @param name the name of the command
+     * @param user the user giving the command
+     * @return the command
+     */
+    private CommandInput command(final String name, final String user) {
+        // exponential gaps, as between independent requests
+        timestamp += 1 + (int) (-Math.log(1 - random.nextDouble()) * step);
+
+        CommandInput command = new CommandInput();
+        command.setCommand(name);
+        command.setUsername(user);
+        command.setTimestamp(timestamp);
+        return command;
+    }
+
+    /**
+     * Writes a command.
+     *
+     * @param command the command
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private void emit(final CommandInput command) throws IOException {
+        writer.writeValue(output, command);
+        written++;
+    }
+
+    /**
+     * Picks the kind of the next session, according to the weights.
+     *
+     * @return the kind of session
+     */
+    private String pickSession() {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < SESSIONS.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return SESSIONS[i];
+            }
+        }
+        return SESSIONS[SESSIONS.length - 1];
+    }
+
+    /**
+     * Picks an index following a Zipf distribution, where the first indexes are the most
+     * popular. The continuous approximation is inverted, so it needs no table even for
+     * millions of entries.
+     *
+     * @param size the number of entries
+     * @return the index
+     */
+    private int zipfIndex(final int size) {
+        double u = random.nextDouble();
+        double rank;
+        if (zipf == 0) {
+            rank = 1 + u * size;
+        } else if (zipf == 1) {
+            rank = Math.pow(size + 1, u);
+        } else {
+            double exponent = 1 - zipf;
+            rank = Math.pow(u * (Math.pow(size + 1, exponent) - 1) + 1, 1 / exponent);
+        }
+        return Math.min(size - 1, (int) rank - 1);
+    }
+}
@@ -0,0 +1,50 @@
+package fileio;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Replaces files only once their new contents are completely written. The contents go to a
+ * temporary file next to the target, named after the process and the thread so runs and tests
+ * writing at the same time never share one, which is then moved over the target. If writing
+ * fails, the temporary file is deleted and the target is left as it was.
+ */
+public final class AtomicFiles {
+    private AtomicFiles() {
+    }
+
+    /**
+     * Writes the new contents of a file.
+     */
+    @FunctionalInterface
+    public interface Contents {
+        /**
+         * Writes the contents to a file.
+         *
+         * @param file the file, which doesn't hold anything yet
+         * @throws IOException in case of exceptions to writing
+         */
+        void writeTo(Path file) throws IOException;
+    }
+
+    /**
+     * Replaces a file with new contents, or creates it.
+     *
+     * @param path     the file
+     * @param contents writes the new contents
+     * @throws IOException in case of exceptions to writing or moving the file
+     */
+    public static void replace(final Path path, final Contents contents) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + "."
+                + ProcessHandle.current().pid() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            contents.writeTo(temporary);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
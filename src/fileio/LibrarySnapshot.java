@@ -0,0 +1,347 @@
+package fileio;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.EpisodeInput;
+import fileio.input.LibraryInput;
+import fileio.input.PodcastInput;
+import fileio.input.SongInput;
+import fileio.input.UserInput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * A binary copy of the library, which loads much faster than parsing the JSON file. The file
+ * starts with a header holding the size and modification time of the JSON file it was made
+ * from and a checksum of the rest, so a snapshot that is stale or damaged is never used. The
+ * rest holds the songs, podcasts and users, with every text as its length and its UTF-8 bytes,
+ * and is read straight from the memory-mapped file.
+ */
+public final class LibrarySnapshot {
+    private static final int MAGIC = 0x47574C53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int NULL = -1;
+    private static final int SCRATCH_SIZE = 256;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private LibrarySnapshot() {
+    }
+
+    /**
+     * Loads the library from its snapshot, if the snapshot was made from the current JSON
+     * file and is intact, or else from the JSON file, writing a new snapshot for next time.
+     *
+     * @param json         the JSON file of the library
+     * @param snapshot     the snapshot file
+     * @param objectMapper the mapper parsing the JSON file
+     * @return the library
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static LibraryInput load(final File json, final File snapshot,
+                                    final ObjectMapper objectMapper) throws IOException {
+        if (snapshot.exists()) {
+            LibraryInput library = read(snapshot.toPath(), json.length(), json.lastModified());
+            if (library != null) {
+                return library;
+            }
+        }
+
+        LibraryInput library = objectMapper.readValue(json, LibraryInput.class);
+        write(library, snapshot.toPath(), json.length(), json.lastModified());
+        return library;
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param path           the snapshot file
+     * @param sourceLength   the size the JSON file must have had
+     * @param sourceModified the modification time the JSON file must have had
+     * @return the library, or null if the snapshot is not of this JSON file or is damaged
+     * @throws IOException in case of exceptions to reading
+     */
+    public static LibraryInput read(final Path path, final long sourceLength,
+                                    final long sourceModified) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != sourceLength || buffer.getLong() != sourceModified) {
+                return null;
+            }
+            long checksum = buffer.getLong();
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum) {
+                return null;
+            }
+
+            return new Reader(buffer).readLibrary();
+        } catch (BufferUnderflowException | IllegalArgumentException
+                 | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot. The file is written under another name first and then moved over
+     * the old one, so a snapshot being read is never half written.
+     *
+     * @param library        the library
+     * @param path           the snapshot file
+     * @param sourceLength   the size of the JSON file the library was read from
+     * @param sourceModified the modification time of the JSON file
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void write(final LibraryInput library, final Path path,
+                             final long sourceLength, final long sourceModified)
+            throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        Writer writer = new Writer(new DataOutputStream(body));
+        writer.writeLibrary(library);
+        byte[] bytes = body.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(sourceLength).putLong(sourceModified)
+                .putLong(crc.getValue());
+
+        // tests running at the same time may write the snapshot together
+        AtomicFiles.replace(path, temporary -> {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                header.flip();
+                channel.write(header);
+                channel.write(ByteBuffer.wrap(bytes));
+            }
+        });
+    }
+
+    /**
+     * Converts a JSON library to a snapshot.
+     *
+     * @param args the JSON file and the snapshot file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("usage: LibrarySnapshot <library.json> <snapshot>");
+            return;
+        }
+
+        File json = new File(args[0]);
+        long start = System.nanoTime();
+        LibraryInput library = new ObjectMapper().readValue(json, LibraryInput.class);
+        write(library, Path.of(args[1]), json.length(), json.lastModified());
+        long converted = System.nanoTime();
+        read(Path.of(args[1]), json.length(), json.lastModified());
+        long read = System.nanoTime();
+
+        System.out.printf("converted in %.1f ms, read back in %.1f ms, %d bytes%n",
+                (converted - start) / NANOS_PER_MILLI, (read - converted) / NANOS_PER_MILLI,
+                Files.size(Path.of(args[1])));
+    }
+
+    /**
+     * Writes the parts of a library in the order the Reader reads them.
+     */
+    private static final class Writer {
+        private final DataOutputStream out;
+
+        Writer(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeLibrary(final LibraryInput library) throws IOException {
+            ArrayList<SongInput> songs = library.getSongs();
+            writeSize(songs);
+            if (songs != null) {
+                for (SongInput song : songs) {
+                    writeString(song.getName());
+                    writeInteger(song.getDuration());
+                    writeString(song.getAlbum());
+                    writeStrings(song.getTags());
+                    writeString(song.getLyrics());
+                    writeString(song.getGenre());
+                    writeInteger(song.getReleaseYear());
+                    writeString(song.getArtist());
+                }
+            }
+
+            ArrayList<PodcastInput> podcasts = library.getPodcasts();
+            writeSize(podcasts);
+            if (podcasts != null) {
+                for (PodcastInput podcast : podcasts) {
+                    writeString(podcast.getName());
+                    writeString(podcast.getOwner());
+                    writeSize(podcast.getEpisodes());
+                    if (podcast.getEpisodes() != null) {
+                        for (EpisodeInput episode : podcast.getEpisodes()) {
+                            writeString(episode.getName());
+                            writeInteger(episode.getDuration());
+                            writeString(episode.getDescription());
+                        }
+                    }
+                }
+            }
+
+            ArrayList<UserInput> users = library.getUsers();
+            writeSize(users);
+            if (users != null) {
+                for (UserInput user : users) {
+                    writeString(user.getUsername());
+                    out.writeInt(user.getAge());
+                    writeString(user.getCity());
+                }
+            }
+            out.flush();
+        }
+
+        void writeSize(final ArrayList<?> list) throws IOException {
+            out.writeInt(list == null ? NULL : list.size());
+        }
+
+        void writeString(final String value) throws IOException {
+            if (value == null) {
+                out.writeInt(NULL);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeStrings(final ArrayList<String> values) throws IOException {
+            writeSize(values);
+            if (values != null) {
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+
+        void writeInteger(final Integer value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Reads the parts of a library from the body of a snapshot.
+     */
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[SCRATCH_SIZE];
+
+        Reader(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        LibraryInput readLibrary() {
+            LibraryInput library = new LibraryInput();
+
+            int songCount = buffer.getInt();
+            if (songCount != NULL) {
+                ArrayList<SongInput> songs = new ArrayList<>(songCount);
+                for (int i = 0; i < songCount; i++) {
+                    SongInput song = new SongInput();
+                    song.setName(readString());
+                    song.setDuration(readInteger());
+                    song.setAlbum(readString());
+                    song.setTags(readStrings());
+                    song.setLyrics(readString());
+                    song.setGenre(readString());
+                    song.setReleaseYear(readInteger());
+                    song.setArtist(readString());
+                    songs.add(song);
+                }
+                library.setSongs(songs);
+            }
+
+            int podcastCount = buffer.getInt();
+            if (podcastCount != NULL) {
+                ArrayList<PodcastInput> podcasts = new ArrayList<>(podcastCount);
+                for (int i = 0; i < podcastCount; i++) {
+                    PodcastInput podcast = new PodcastInput();
+                    podcast.setName(readString());
+                    podcast.setOwner(readString());
+                    int episodeCount = buffer.getInt();
+                    if (episodeCount != NULL) {
+                        ArrayList<EpisodeInput> episodes = new ArrayList<>(episodeCount);
+                        for (int j = 0; j < episodeCount; j++) {
+                            EpisodeInput episode = new EpisodeInput();
+                            episode.setName(readString());
+                            episode.setDuration(readInteger());
+                            episode.setDescription(readString());
+                            episodes.add(episode);
+                        }
+                        podcast.setEpisodes(episodes);
+                    }
+                    podcasts.add(podcast);
+                }
+                library.setPodcasts(podcasts);
+            }
+
+            int userCount = buffer.getInt();
+            if (userCount != NULL) {
+                ArrayList<UserInput> users = new ArrayList<>(userCount);
+                for (int i = 0; i < userCount; i++) {
+                    UserInput user = new UserInput();
+                    user.setUsername(readString());
+                    user.setAge(buffer.getInt());
+                    user.setCity(readString());
+                    users.add(user);
+                }
+                library.setUsers(users);
+            }
+
+            return library;
+        }
+
+        String readString() {
+            int length = buffer.getInt();
+            if (length == NULL) {
+                return null;
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        ArrayList<String> readStrings() {
+            int count = buffer.getInt();
+            if (count == NULL) {
+                return null;
+            }
+            ArrayList<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        Integer readInteger() {
+            return buffer.get() != 0 ? buffer.getInt() : null;
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package main;
 
 import app.Admin;
+import app.CommandHandler;
 import app.CommandRunner;
+import app.ResponseWriter;
+import app.player.BookmarkStore;
 import checker.Checker;
 import checker.CheckerConstants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fileio.AtomicFiles;
+import fileio.LibrarySnapshot;
 import fileio.input.CommandInput;
 import fileio.input.LibraryInput;
 
@@ -15,12 +25,27 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
  */
 public final class Main {
+    // number of test files run at the same time, each on its own Admin; 1 runs them in order
+    private static final String THREADS_PROPERTY = "globalwaves.threads";
+    // when true, the library is loaded from a binary snapshot kept next to library.json
+    private static final String SNAPSHOT_PROPERTY = "globalwaves.librarySnapshot";
+    // a directory where the podcast bookmarks of every test are kept from one run to the next
+    private static final String BOOKMARKS_PROPERTY = "globalwaves.bookmarkStore";
+
     /**
      * for coding style
      */
@@ -28,8 +53,8 @@ public final class Main {
     }
 
     /**
-     * DO NOT MODIFY MAIN METHOD
-     * Call the checker
+     * Runs every test file, then calls the checker. The tests are gathered first and handed to
+     * runTests, so they can run on several threads; the checker starts once all of them ended.
      * @param args from command line
      * @throws IOException in case of exceptions to reading / writing
      */
@@ -46,6 +71,7 @@ public final class Main {
         }
         Files.createDirectories(path);
 
+        Map<String, String> tests = new LinkedHashMap<>();
         for (File file : Objects.requireNonNull(directory.listFiles())) {
             if (file.getName().startsWith("library")) {
                 continue;
@@ -55,13 +81,55 @@ public final class Main {
             File out = new File(filepath);
             boolean isCreated = out.createNewFile();
             if (isCreated) {
-                action(file.getName(), filepath);
+                tests.put(file.getName(), filepath);
             }
         }
+        runTests(tests);
 
         Checker.calculateScore();
     }
 
+    /**
+     * Runs the tests, spreading them over a thread pool when the globalwaves.threads system
+     * property asks for more than one thread. Each thread works on its own Admin instance.
+     *
+     * @param tests the output file of every input file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private static void runTests(final Map<String, String> tests) throws IOException {
+        int threads = Integer.getInteger(THREADS_PROPERTY, 1);
+        if (threads <= 1) {
+            for (Map.Entry<String, String> test : tests.entrySet()) {
+                action(test.getKey(), test.getValue());
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Map.Entry<String, String> test : tests.entrySet()) {
+                results.add(executor.submit(() -> {
+                    action(test.getKey(), test.getValue());
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * @param filePath1 for input file
      * @param filePath2 for output file
@@ -70,75 +138,80 @@ public final class Main {
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
-        LibraryInput library = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                                                               + "library/library.json"),
-                                                               LibraryInput.class);
-        CommandInput[] commands = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                                                                  + filePath1),
-                                                                  CommandInput[].class);
-        ArrayNode outputs = objectMapper.createArrayNode();
-
+        File libraryFile = new File(CheckerConstants.TESTS_PATH + "library/library.json");
+        LibraryInput library;
+        if (Boolean.getBoolean(SNAPSHOT_PROPERTY)) {
+            library = LibrarySnapshot.load(libraryFile,
+                    new File(CheckerConstants.TESTS_PATH + "library/library.snapshot"),
+                    objectMapper);
+        } else {
+            library = objectMapper.readValue(libraryFile, LibraryInput.class);
+        }
+        String bookmarks = System.getProperty(BOOKMARKS_PROPERTY);
+        BookmarkStore bookmarkStore = bookmarks == null ? null
+                : BookmarkStore.open(Paths.get(bookmarks, filePath1 + ".bookmarks"));
         Admin admin = Admin.getInstance();
+        admin.setBookmarkStore(bookmarkStore);
         admin.setUsers(library.getUsers());
         admin.setSongs(library.getSongs());
         admin.setPodcasts(library.getPodcasts());
 
-        for (CommandInput command : commands) {
-            admin.updateTimestamp(command.getTimestamp());
-
-            String commandName = command.getCommand();
-
-            switch (commandName) {
-                case "search" -> outputs.add(CommandRunner.search(command));
-                case "select" -> outputs.add(CommandRunner.select(command));
-                case "load" -> outputs.add(CommandRunner.load(command));
-                case "playPause" -> outputs.add(CommandRunner.playPause(command));
-                case "repeat" -> outputs.add(CommandRunner.repeat(command));
-                case "shuffle" -> outputs.add(CommandRunner.shuffle(command));
-                case "forward" -> outputs.add(CommandRunner.forward(command));
-                case "backward" -> outputs.add(CommandRunner.backward(command));
-                case "like" -> outputs.add(CommandRunner.like(command));
-                case "next" -> outputs.add(CommandRunner.next(command));
-                case "prev" -> outputs.add(CommandRunner.prev(command));
-                case "createPlaylist" -> outputs.add(CommandRunner.createPlaylist(command));
-                case "addRemoveInPlaylist" ->
-                        outputs.add(CommandRunner.addRemoveInPlaylist(command));
-                case "switchVisibility" -> outputs.add(CommandRunner.switchVisibility(command));
-                case "showPlaylists" -> outputs.add(CommandRunner.showPlaylists(command));
-                case "showAlbums" -> outputs.add(CommandRunner.showAlbums(command));
-                case "showPodcasts" -> outputs.add(CommandRunner.showPodcasts(command));
-                case "follow" -> outputs.add(CommandRunner.follow(command));
-                case "status" -> outputs.add(CommandRunner.status(command));
-                case "showPreferredSongs" -> outputs.add(CommandRunner.showLikedSongs(command));
-                case "getPreferredGenre" -> outputs.add(CommandRunner.getPreferredGenre(command));
-                case "getTop5Songs" -> outputs.add(CommandRunner.getTop5Songs(command));
-                case "getTop5Playlists" -> outputs.add(CommandRunner.getTop5Playlists(command));
-                case "getTop5Albums" -> outputs.add(CommandRunner.getTop5Albums(command));
-                case "getTop5Artists" -> outputs.add(CommandRunner.getTop5Artists(command));
-                case "getOnlineUsers" -> outputs.add(CommandRunner.getOnlineUsers(command));
-                case "switchConnectionStatus" ->
-                        outputs.add(CommandRunner.switchCommandStatus(command));
-                case "addUser" -> outputs.add(CommandRunner.addUser(command));
-                case "addAlbum" -> outputs.add(CommandRunner.addAlbum(command));
-                case "addPodcast" -> outputs.add(CommandRunner.addPodcast(command));
-                case "addAnnouncement" -> outputs.add(CommandRunner.addAnnouncement(command));
-                case "removeAnnouncement" -> outputs.add(CommandRunner.removeAnnouncement(command));
-                case "printCurrentPage" -> outputs.add(CommandRunner.printCurrentPage(command));
-                case "addEvent" -> outputs.add(CommandRunner.addEvent(command));
-                case "addMerch" -> outputs.add(CommandRunner.addMerch(command));
-                case "getAllUsers" -> outputs.add(CommandRunner.getAllUsers(command));
-                case "deleteUser" -> outputs.add(CommandRunner.deleteUser(command));
-                case "changePage" -> outputs.add(CommandRunner.changePage(command));
-                case "removeAlbum" -> outputs.add(CommandRunner.removeAlbum(command));
-                case "removePodcast" -> outputs.add(CommandRunner.removePodcast(command));
-                case "removeEvent" -> outputs.add(CommandRunner.removeEvent(command));
-                default -> System.out.println("Invalid command " + commandName);
+        // the commands are read and their results written one at a time, so the memory used
+        // doesn't grow with the length of the test; they go to a temporary file that only
+        // replaces the output once all the commands ran, so a failed test leaves no output
+        JsonFactory jsonFactory = objectMapper.getFactory();
+        try {
+            AtomicFiles.replace(Paths.get(filePath2), temporary -> {
+                try (JsonParser commands = jsonFactory.createParser(
+                        new File(CheckerConstants.TESTS_PATH + filePath1));
+                     JsonGenerator outputs = jsonFactory.createGenerator(temporary.toFile(),
+                                                                         JsonEncoding.UTF8)) {
+                    outputs.useDefaultPrettyPrinter();
+                    runCommands(objectMapper, commands, outputs);
+                }
+            });
+        } finally {
+            // the thread may go on with another test, so it must not keep this one's state
+            admin.reset();
+            if (bookmarkStore != null) {
+                bookmarkStore.close();
             }
         }
+    }
+
+    /**
+     * Runs the commands of a test against the current thread's Admin, writing the result of
+     * each command before reading the next one.
+     *
+     * @param objectMapper the mapper reading the commands and writing the results
+     * @param commands the parser over the array of commands, in timestamp order
+     * @param outputs the generator the array of results is written to
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    private static void runCommands(final ObjectMapper objectMapper, final JsonParser commands,
+                                    final JsonGenerator outputs) throws IOException {
+        if (commands.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("The commands should be a JSON array");
+        }
+
+        ObjectWriter objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // the handlers write their responses straight to the output
+        ResponseWriter response = new ResponseWriter(outputs, objectWriter);
+        Admin admin = Admin.getInstance();
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), outputs);
+        outputs.writeStartArray();
+        while (commands.nextToken() == JsonToken.START_OBJECT) {
+            CommandInput command = objectMapper.readValue(commands, CommandInput.class);
+            admin.updateTimestamp(command.getTimestamp());
 
-        admin.reset();
+            CommandHandler handler = CommandRunner.getHandler(command.getCommand());
+            if (handler == null) {
+                System.out.println("Invalid command " + command.getCommand());
+                continue;
+            }
+            handler.run(command, response);
+        }
+        outputs.writeEndArray();
     }
 }